@@ -0,0 +1,104 @@
+package me.matsubara.roulette.game;
+
+import me.matsubara.roulette.game.data.Slot;
+import me.matsubara.roulette.game.data.SlotTopology;
+import me.matsubara.roulette.game.data.WinData;
+import me.matsubara.roulette.game.data.WinTable;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The resolution of a round at a full table, with the same pass as Game#checkWinner() (without the economy and the messages).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WinResolutionBenchmark {
+
+    @Param({"AMERICAN", "EUROPEAN"})
+    private GameType type;
+
+    @Param({"10"})
+    private int players;
+
+    @Param({"10"})
+    private int betsPerPlayer;
+
+    private final EnumSet<GameRule> rules = EnumSet.of(GameRule.LA_PARTAGE, GameRule.EN_PRISON);
+
+    private Slot[] singles;
+    private List<List<Slot>> bets;
+    private double[] multipliers;
+    private int round;
+
+    // Same as RoulettePlugin#getExpectedMoney() without custom multipliers, since they're read from the config.
+    private final Game.BetResolver<Slot> resolver = new Game.BetResolver<>() {
+        @Override
+        public Slot getSlot(@NotNull Slot bet) {
+            return bet;
+        }
+
+        @Override
+        public double getPrice(@NotNull Slot bet) {
+            return 1.0d;
+        }
+
+        @Override
+        public boolean isEnPrison(@NotNull Slot bet) {
+            return false;
+        }
+
+        @Override
+        public double win(@NotNull Slot bet, int index, Slot slot, double price, WinData.WinType winType) {
+            return winType.getMoney(price, winType.isNormalWin() ? multipliers[slot.ordinal()] : 1.0d);
+        }
+    };
+
+    @Setup
+    public void setup() {
+        SlotTopology topology = new SlotTopology(type, EnumSet.noneOf(Slot.class));
+        singles = topology.getSingles();
+
+        Slot[] values = Slot.values();
+        multipliers = new double[values.length];
+        for (Slot slot : values) {
+            multipliers[slot.ordinal()] = slot.getDefaultMultiplier(type);
+        }
+
+        // Random bets, always the same for every run.
+        SplittableRandom random = new SplittableRandom(0L);
+        Slot[] available = topology.getSlots();
+
+        bets = new ArrayList<>(players);
+        for (int i = 0; i < players; i++) {
+            List<Slot> slots = new ArrayList<>(betsPerPlayer);
+            for (int j = 0; j < betsPerPlayer; j++) {
+                slots.add(available[random.nextInt(available.length)]);
+            }
+            bets.add(slots);
+        }
+    }
+
+    @Benchmark
+    public double[][] checkWinner() {
+        Slot winner = singles[round++ % singles.length];
+        WinTable table = WinTable.compile(type, rules::contains, winner);
+
+        double[][] totals = new double[players][];
+        for (int i = 0; i < players; i++) {
+            totals[i] = new double[2];
+            Game.resolveBets(table, bets.get(i), totals[i], resolver);
+        }
+
+        return totals;
+    }
+}
@@ -0,0 +1,47 @@
+package me.matsubara.roulette.game.data;
+
+import me.matsubara.roulette.game.GameType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moving a chip around the table (what PluginUtils#moveFromSlot() delegates to), and building the topology of a table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SlotMoveBenchmark {
+
+    @Param({"AMERICAN", "EUROPEAN"})
+    private GameType type;
+
+    private SlotTopology topology;
+    private Slot[] slots;
+
+    @Setup
+    public void setup() {
+        topology = new SlotTopology(type, EnumSet.noneOf(Slot.class));
+        slots = topology.getSlots();
+    }
+
+    @Benchmark
+    public void moveFromEverySlot(Blackhole blackhole) {
+        for (Slot slot : slots) {
+            blackhole.consume(topology.move(slot, true, false, false, false));
+            blackhole.consume(topology.move(slot, false, true, false, false));
+            blackhole.consume(topology.move(slot, false, false, true, false));
+            blackhole.consume(topology.move(slot, false, false, false, true));
+        }
+    }
+
+    @Benchmark
+    public SlotTopology createTopology() {
+        return new SlotTopology(type, EnumSet.noneOf(Slot.class));
+    }
+}
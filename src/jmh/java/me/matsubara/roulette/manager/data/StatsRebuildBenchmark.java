@@ -0,0 +1,103 @@
+package me.matsubara.roulette.manager.data;
+
+import me.matsubara.roulette.game.GameType;
+import me.matsubara.roulette.game.data.Slot;
+import me.matsubara.roulette.game.data.WinData;
+import me.matsubara.roulette.manager.data.store.SQLiteSessionStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Rebuilding the stats of every player with the same code as DataManager#reloadStats(),
+ * from the sessions in memory and from the wins in a temporary SQLite file (when only the newest sessions are in memory).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatsRebuildBenchmark {
+
+    @Param({"10000", "100000"})
+    private int sessions;
+
+    @Param({"200"})
+    private int players;
+
+    private final List<RouletteSession> repository = new ArrayList<>();
+    private Path directory;
+    private SQLiteSessionStore store;
+
+    // Same as RoulettePlugin#getExpectedMoney() without custom multipliers, since they're read from the config.
+    private static final DataManager.Payout PAYOUT = (type, price, slot, win) ->
+            win.getMoney(price, win.isNormalWin() ? slot.getDefaultMultiplier(type) : 1.0d);
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, SQLException {
+        SplittableRandom random = new SplittableRandom(0L);
+        Slot[] slots = Slot.values();
+        WinData.WinType[] types = WinData.WinType.values();
+
+        UUID[] uuids = new UUID[players];
+        for (int i = 0; i < players; i++) {
+            uuids[i] = new UUID(random.nextLong(), random.nextLong());
+        }
+
+        repository.clear();
+        for (int i = 0; i < sessions; i++) {
+            Slot winner = slots[random.nextInt(37)];
+            RouletteSession session = new RouletteSession(new UUID(random.nextLong(), random.nextLong()), "Roulette", winner, GameType.AMERICAN, i, null, List.of());
+
+            // A few results per session, around half of them winning.
+            for (int j = 0, results = 1 + random.nextInt(5); j < results; j++) {
+                WinData.WinType win = random.nextBoolean() ? types[random.nextInt(types.length)] : null;
+                double money = 10.0d * (1 + random.nextInt(100));
+                session.results().add(new PlayerResult(session, uuids[random.nextInt(players)], win, money, slots[random.nextInt(slots.length)]));
+            }
+
+            repository.add(session);
+        }
+
+        // The same sessions, in the database.
+        directory = Files.createTempDirectory("roulette-benchmark");
+        store = new SQLiteSessionStore(Logger.getLogger("Roulette"), new File(directory.toFile(), "data.db"), "OFF");
+        store.init();
+        store.transaction(() -> {
+            for (RouletteSession session : repository) {
+                store.saveSession(session);
+            }
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        store.close();
+
+        // Also removes the WAL files.
+        try (var files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public Map<UUID, PlayerStats> reloadStats() {
+        return DataManager.buildStats(repository, PAYOUT);
+    }
+
+    @Benchmark
+    public Map<UUID, PlayerStats> reloadWindowedStats() throws SQLException {
+        Map<UUID, PlayerStats> stats = new ConcurrentHashMap<>();
+        DataManager.indexWins(store, stats, PAYOUT);
+        return stats;
+    }
+}
@@ -0,0 +1,87 @@
+package me.matsubara.roulette.manager.data.store;
+
+import me.matsubara.roulette.game.GameType;
+import me.matsubara.roulette.game.data.Slot;
+import me.matsubara.roulette.game.data.WinData;
+import me.matsubara.roulette.manager.data.PlayerResult;
+import me.matsubara.roulette.manager.data.RouletteSession;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Writing sessions (with their results) to a temporary SQLite file, like a flush of DataManager does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionStoreBenchmark {
+
+    // The amount of sessions written in a single transaction.
+    @Param({"1", "100"})
+    private int batch;
+
+    @Param({"NORMAL"})
+    private String synchronous;
+
+    private Path directory;
+    private SQLiteSessionStore store;
+    private SplittableRandom random;
+
+    private static final Slot[] SLOTS = Slot.values();
+    private static final WinData.WinType[] TYPES = WinData.WinType.values();
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, SQLException {
+        directory = Files.createTempDirectory("roulette-benchmark");
+        store = new SQLiteSessionStore(Logger.getLogger("Roulette"), new File(directory.toFile(), "data.db"), synchronous);
+        store.init();
+        random = new SplittableRandom(0L);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        store.close();
+
+        // Also removes the WAL files.
+        try (var files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public void saveSessions() throws SQLException {
+        List<RouletteSession> sessions = new ArrayList<>(batch);
+        for (int i = 0; i < batch; i++) {
+            sessions.add(createSession());
+        }
+
+        store.transaction(() -> {
+            for (RouletteSession session : sessions) {
+                store.saveSession(session);
+            }
+        });
+    }
+
+    private RouletteSession createSession() {
+        UUID sessionUUID = new UUID(random.nextLong(), random.nextLong());
+        RouletteSession session = new RouletteSession(sessionUUID, "Roulette", SLOTS[random.nextInt(37)], GameType.AMERICAN, System.currentTimeMillis(), null, List.of());
+
+        for (int i = 0; i < 5; i++) {
+            WinData.WinType win = random.nextBoolean() ? TYPES[random.nextInt(TYPES.length)] : null;
+            session.results().add(new PlayerResult(session, new UUID(random.nextLong(), random.nextLong()), win, 100.0d, SLOTS[random.nextInt(SLOTS.length)]));
+        }
+
+        return session;
+    }
+}
@@ -0,0 +1,106 @@
+package me.matsubara.roulette.util.map;
+
+import org.bukkit.map.*;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drawing the lines of a winner map, like MapBuilder#render() does for every text.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapTextBenchmark {
+
+    @Param({"Roulette", "&#FFD700Winner: &#FFFFFFPlayer &#00FF00+$1,500"})
+    private String text;
+
+    private MapBuilder builder;
+    private CanvasStub canvas;
+
+    @Setup
+    public void setup() {
+        // The plugin and the session are only used to build the item.
+        builder = new MapBuilder(null, UUID.randomUUID(), null);
+        canvas = new CanvasStub();
+    }
+
+    @Benchmark
+    public void drawText() {
+        // The pixels are kept in the canvas, so the drawing can't be optimized away.
+        builder.drawText(canvas, -1, 60, text);
+    }
+
+    /**
+     * A canvas that only keeps the pixels, instead of sending them to the players.
+     */
+    @SuppressWarnings("deprecation")
+    private static final class CanvasStub implements MapCanvas {
+
+        private final Color[] colors = new Color[128 * 128];
+        private final byte[] pixels = new byte[128 * 128];
+
+        @Override
+        public MapView getMapView() {
+            return null;
+        }
+
+        @Override
+        public @NotNull MapCursorCollection getCursors() {
+            return new MapCursorCollection();
+        }
+
+        @Override
+        public void setCursors(@NotNull MapCursorCollection cursors) {
+        }
+
+        @Override
+        public void setPixelColor(int x, int y, Color color) {
+            if (inside(x, y)) colors[y * 128 + x] = color;
+        }
+
+        @Override
+        public Color getPixelColor(int x, int y) {
+            return inside(x, y) ? colors[y * 128 + x] : null;
+        }
+
+        @Override
+        public @NotNull Color getBasePixelColor(int x, int y) {
+            return Color.BLACK;
+        }
+
+        @Override
+        public void setPixel(int x, int y, byte color) {
+            if (inside(x, y)) pixels[y * 128 + x] = color;
+        }
+
+        @Override
+        public byte getPixel(int x, int y) {
+            return inside(x, y) ? pixels[y * 128 + x] : 0;
+        }
+
+        @Override
+        public byte getBasePixel(int x, int y) {
+            return 0;
+        }
+
+        @Override
+        public void drawImage(int x, int y, @NotNull Image image) {
+        }
+
+        @Override
+        public void drawText(int x, int y, @NotNull MapFont font, @NotNull String text) {
+        }
+
+        private boolean inside(int x, int y) {
+            return x >= 0 && y >= 0 && x < 128 && y < 128;
+        }
+    }
+}
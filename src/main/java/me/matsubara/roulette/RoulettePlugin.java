@@ -275,6 +275,11 @@ public final class RoulettePlugin extends JavaPlugin {
             gameManager.getGames().forEach(Game::remove);
         }
 
+        // Wait for pending database tasks and close the connection.
+        if (dataManager != null) {
+            dataManager.close();
+        }
+
         pool.shutdownNow();
     }
 
@@ -288,18 +293,7 @@ public final class RoulettePlugin extends JavaPlugin {
 
     public double getExpectedMoney(GameType type, double price, Slot slot, @Nullable WinData.WinType winType) {
         if (winType == null) return price;
-
-        double money;
-        if (winType.isNormalWin()) {
-            money = price * slot.getMultiplier(type, this);
-        } else if (winType.isLaPartageWin() || winType.isSurrenderWin()) {
-            // Half-money if is partage.
-            money = price / 2;
-        } else {
-            // Original money.
-            money = price;
-        }
-        return money;
+        return winType.getMoney(price, winType.isNormalWin() ? slot.getMultiplier(type, this) : 1.0d);
     }
 
     private void fillIgnoredSections(FileConfiguration config) {
@@ -5,6 +5,7 @@ import lombok.Getter;
 import me.matsubara.roulette.RoulettePlugin;
 import me.matsubara.roulette.file.Config;
 import me.matsubara.roulette.game.Game;
+import me.matsubara.roulette.model.RenderTier;
 import me.matsubara.roulette.model.stand.PacketStand;
 import me.matsubara.roulette.model.stand.StandSettings;
 import me.matsubara.roulette.model.stand.animator.ArmorStandAnimator;
@@ -21,6 +22,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.io.File;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -39,7 +41,7 @@ public class DabAnimation extends BukkitRunnable {
         this.game = game;
         this.speed = Config.DAB_ANIMATION_RAINBOW_EFFECT_SPEED.asInt();
         this.glowing = Config.DAB_ANIMATION_RAINBOW_EFFECT_GLOWING.asBool();
-        this.seeing = game.getSeeingPlayers();
+        this.seeing = new HashSet<>(game.getSeeingPlayers(RenderTier.NEAR));
 
         RoulettePlugin plugin = game.getPlugin();
         File file = new File(plugin.getDataFolder(), "dab_animation.txt");
@@ -2,12 +2,14 @@ package me.matsubara.roulette.animation;
 
 import lombok.Getter;
 import me.matsubara.roulette.game.Game;
+import me.matsubara.roulette.model.RenderTier;
 import me.matsubara.roulette.model.stand.PacketStand;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitRunnable;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.HashSet;
 import java.util.Set;
 
 @Getter
@@ -24,7 +26,7 @@ public final class MoneyAnimation extends BukkitRunnable {
     public MoneyAnimation(@NotNull Game game) {
         this.game = game;
         this.moneySlot = game.getModel().getStandByName("MONEY_SLOT");
-        this.seeing = game.getSeeingPlayers();
+        this.seeing = new HashSet<>(game.getSeeingPlayers(RenderTier.NEAR));
 
         this.goUp = true;
         this.count = 0;
@@ -48,7 +50,7 @@ public final class MoneyAnimation extends BukkitRunnable {
         }
 
         Location to = moneySlot.getLocation().add(0.0d, goUp ? 0.01d : -0.01d, 0.0d);
-        moneySlot.teleport(seeing, to);
+        moneySlot.move(seeing, to);
 
         count++;
     }
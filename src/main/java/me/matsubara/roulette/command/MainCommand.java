@@ -5,7 +5,9 @@ import me.matsubara.roulette.file.Config;
 import me.matsubara.roulette.file.Messages;
 import me.matsubara.roulette.file.config.ConfigValue;
 import me.matsubara.roulette.game.Game;
+import me.matsubara.roulette.game.GameRule;
 import me.matsubara.roulette.game.GameType;
+import me.matsubara.roulette.game.data.RoundSeed;
 import me.matsubara.roulette.game.data.Slot;
 import me.matsubara.roulette.game.data.WinData;
 import me.matsubara.roulette.game.state.Spinning;
@@ -13,6 +15,7 @@ import me.matsubara.roulette.gui.data.SessionsGUI;
 import me.matsubara.roulette.manager.GameManager;
 import me.matsubara.roulette.manager.data.PlayerResult;
 import me.matsubara.roulette.manager.data.RouletteSession;
+import me.matsubara.roulette.simulation.RoundSimulator;
 import me.matsubara.roulette.util.PluginUtils;
 import org.apache.commons.lang3.ArrayUtils;
 import org.bukkit.Location;
@@ -28,6 +31,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -35,7 +39,7 @@ public final class MainCommand implements CommandExecutor, TabCompleter {
 
     private final RoulettePlugin plugin;
 
-    private static final List<String> COMMAND_ARGS = List.of("create", "delete", "reload", "sessions", "map", "force");
+    private static final List<String> COMMAND_ARGS = List.of("create", "delete", "reload", "sessions", "map", "force", "simulate", "verify");
     private static final List<String> TABLE_NAME_ARG = List.of("<name>");
     private static final List<String> TYPES = List.of("american", "european");
     private static final List<String> HELP = Stream.of(
@@ -47,6 +51,8 @@ public final class MainCommand implements CommandExecutor, TabCompleter {
                     "&e/roulette reload &f- &7Reload configuration files.",
                     "&e/roulette map &f- &7Gives a win voucher.",
                     "&e/roulette force <slot> &f- &7Force the winning slot.",
+                    "&e/roulette simulate <name> [rounds] &f- &7Simulate the rounds of a game.",
+                    "&e/roulette verify <seed> &f- &7Verify a provably fair round.",
                     "&8&m--------------------------------------------------")
             .map(PluginUtils::translate)
             .toList();
@@ -83,7 +89,7 @@ public final class MainCommand implements CommandExecutor, TabCompleter {
                     // If the player doesn't have permission to open the session menu, send (@no-permission) message.
                     if (!hasPermission(player, "roulette.sessions")) return true;
 
-                    if (plugin.getDataManager().getSessions().isEmpty()) {
+                    if (plugin.getDataManager().getSessionCount() == 0) {
                         messages.send(player, Messages.Message.SESSION_EMPTY);
                         return true;
                     }
@@ -112,6 +118,9 @@ public final class MainCommand implements CommandExecutor, TabCompleter {
                         manager.reloadConfig();
                         manager.getModels().clear();
 
+                        // Payouts may have changed (custom multipliers).
+                        plugin.getDataManager().reloadStats();
+
                         // Send reload messages.
                         messages.send(sender, Messages.Message.RELOAD);
                     }));
@@ -131,7 +140,9 @@ public final class MainCommand implements CommandExecutor, TabCompleter {
                             new ArrayList<>(),
                             Slot.SLOT_0,
                             GameType.AMERICAN,
-                            System.currentTimeMillis());
+                            System.currentTimeMillis(),
+                            null,
+                            List.of());
 
                     // Dummy result.
                     PlayerResult result = new PlayerResult(session,
@@ -153,6 +164,64 @@ public final class MainCommand implements CommandExecutor, TabCompleter {
             }
         }
 
+        if (args[0].equalsIgnoreCase("simulate")) {
+            // If the player doesn't have permission to simulate, send (@no-permission) message.
+            if (!hasPermission(sender, "roulette.simulate")) return true;
+
+            Game game = manager.getGame(args[1]);
+            if (game == null) {
+                messages.send(sender, Messages.Message.UNKNOWN, message -> message.replace("%name%", args[1]));
+                return true;
+            }
+
+            long rounds = RoundSimulator.DEFAULT_ROUNDS;
+            if (args.length == 3) {
+                try {
+                    rounds = Math.max(1L, Long.parseLong(args[2]));
+                } catch (NumberFormatException exception) {
+                    messages.send(sender, Messages.Message.SINTAX);
+                    return true;
+                }
+            }
+
+            simulate(sender, game, rounds);
+            return true;
+        }
+
+        if (args[0].equalsIgnoreCase("verify")) {
+            // If the player doesn't have permission to verify, send (@no-permission) message.
+            if (!hasPermission(sender, "roulette.verify")) return true;
+
+            if (args.length != 2) {
+                messages.send(sender, Messages.Message.SINTAX);
+                return true;
+            }
+
+            RoundSeed seed = RoundSeed.fromHex(args[1]);
+            if (seed == null) {
+                messages.send(sender, Messages.Message.VERIFY_INVALID_SEED);
+                return true;
+            }
+
+            // The round may have to be fetched from the database.
+            plugin.getDataManager().fetchSessionBySeed(seed.toHex()).thenAccept(session -> plugin.getServer().getScheduler().runTask(plugin, () -> {
+                if (session == null) {
+                    messages.send(sender, Messages.Message.VERIFY_NOT_FOUND);
+                    return;
+                }
+
+                // Derived with the numbers that could win in that round, not the current ones of the game.
+                Slot derived = session.getSeedWinner();
+                messages.send(sender, Messages.Message.VERIFY_RESULT, message -> message
+                        .replace("%name%", session.name())
+                        .replace("%hash%", seed.getCommitment())
+                        .replace("%recorded%", PluginUtils.getSlotName(session.slot()))
+                        .replace("%derived%", derived != null ? PluginUtils.getSlotName(derived) : "-"));
+                messages.send(sender, session.slot() == derived ? Messages.Message.VERIFY_MATCH : Messages.Message.VERIFY_MISMATCH);
+            }));
+            return true;
+        }
+
         if (args.length == 2) {
             if (args[0].equalsIgnoreCase("delete")) {
                 // If the player doesn't have permission to delete games, send (@no-permission) message.
@@ -267,6 +336,33 @@ public final class MainCommand implements CommandExecutor, TabCompleter {
         return true;
     }
 
+    private void simulate(CommandSender sender, @NotNull Game game, long rounds) {
+        GameType type = game.getType();
+
+        // Use the same rules, slots and payouts as the game.
+        Set<GameRule> rules = EnumSet.noneOf(GameRule.class);
+        for (GameRule rule : GameRule.values()) {
+            if (game.isRuleEnabled(rule)) rules.add(rule);
+        }
+
+        Map<Slot, Double> multipliers = new EnumMap<>(Slot.class);
+        for (Slot slot : Slot.values()) {
+            multipliers.put(slot, slot.getMultiplier(type, plugin));
+        }
+
+        RoundSimulator simulator = new RoundSimulator(type, rules, game.getDisabledSlots(), multipliers);
+        CompletableFuture.supplyAsync(() -> simulator.format(simulator.run(rounds, System.nanoTime()), rounds)).thenAccept(lines -> {
+            // Send the results from the main thread.
+            plugin.getServer().getScheduler().runTask(plugin, () -> {
+                sender.sendMessage(PluginUtils.translate("&6&lRoulette &f&oSimulation of &e" + game.getName()));
+                lines.forEach(sender::sendMessage);
+            });
+        }).exceptionally(throwable -> {
+            plugin.getLogger().log(Level.SEVERE, "An error occurred while simulating the rounds of {" + game.getName() + "}.", throwable);
+            return null;
+        });
+    }
+
     private @Nullable Player getPlayerFromSender(CommandSender sender) {
         if (sender instanceof Player player) return player;
         plugin.getMessages().send(sender, Messages.Message.FROM_CONSOLE);
@@ -293,7 +389,8 @@ public final class MainCommand implements CommandExecutor, TabCompleter {
             return StringUtil.copyPartialMatches(args[1], slots, new ArrayList<>());
         }
 
-        if (args.length == 2 && args[0].equalsIgnoreCase("delete")) {
+        if (args.length == 2 && (args[0].equalsIgnoreCase("delete")
+                || args[0].equalsIgnoreCase("simulate"))) {
             return StringUtil.copyPartialMatches(
                     args[1],
                     manager.getGames().stream()
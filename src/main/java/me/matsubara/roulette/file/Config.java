@@ -8,15 +8,29 @@ public class Config {
 
     public final ConfigValue EXPERIMENTAL = new ConfigValue("experimental");
     public final ConfigValue RENDER_DISTANCE = new ConfigValue("render-distance");
+    public final ConfigValue RENDER_PACKETS_PER_TICK = new ConfigValue("render-packets-per-tick");
+    public final ConfigValue LOD_MID_DISTANCE = new ConfigValue("lod.mid-distance");
+    public final ConfigValue LOD_NEAR_DISTANCE = new ConfigValue("lod.near-distance");
+    public final ConfigValue DISPLAY_ENTITIES = new ConfigValue("display-entities");
     public final ConfigValue ECONOMY_PROVIDER = new ConfigValue("economy-provider");
     public final ConfigValue SESSIONS_LIMIT = new ConfigValue("sessions.limit");
     public final ConfigValue SESSIONS_KEEP_VICTORIES = new ConfigValue("sessions.keep-victories");
     public final ConfigValue SESSIONS_ONLY_VICTORIES_TEXT = new ConfigValue("sessions.only-victories-text");
+    public final ConfigValue SESSIONS_HOT_WINDOW = new ConfigValue("sessions.hot-window");
+    public final ConfigValue DATABASE_TYPE = new ConfigValue("database.type");
+    public final ConfigValue DATABASE_SYNCHRONOUS = new ConfigValue("database.synchronous");
+    public final ConfigValue DATABASE_FLUSH_INTERVAL = new ConfigValue("database.flush-interval");
+    public final ConfigValue DATABASE_MYSQL_URL = new ConfigValue("database.mysql.url");
+    public final ConfigValue DATABASE_MYSQL_USERNAME = new ConfigValue("database.mysql.username");
+    public final ConfigValue DATABASE_MYSQL_PASSWORD = new ConfigValue("database.mysql.password");
+    public final ConfigValue DATABASE_MYSQL_POOL_SIZE = new ConfigValue("database.mysql.pool-size");
+    public final ConfigValue DATABASE_MYSQL_DRIVER = new ConfigValue("database.mysql.driver");
     public final ConfigValue SWAP_CHAIR = new ConfigValue("swap-chair");
     public final ConfigValue INSTANT_EXPLODE = new ConfigValue("instant-explode");
     public final ConfigValue FIX_CHAIR_CAMERA = new ConfigValue("fix-chair-camera");
     public final ConfigValue HIT_ON_GAME = new ConfigValue("hit-on-game");
     public final ConfigValue KEEP_SEAT = new ConfigValue("keep-seat");
+    public final ConfigValue PROVABLY_FAIR = new ConfigValue("provably-fair");
     public final ConfigValue DATE_FORMAT = new ConfigValue("date-format");
     public final ConfigValue MOVE_INTERVAL = new ConfigValue("move-interval");
     public final ConfigValue CROUPIER_BALL = new ConfigValue("croupier-ball");
@@ -111,6 +111,11 @@ public final class Messages {
         FORCE_NOT_SPINNING("command.force.not-spinning"),
         FORCE_UNKNOWN_SLOT("command.force.unknown-slot"),
         FORCE_SLOT_CHANGED("command.force.slot-changed"),
+        VERIFY_INVALID_SEED("command.verify.invalid-seed"),
+        VERIFY_NOT_FOUND("command.verify.not-found"),
+        VERIFY_RESULT("command.verify.result"),
+        VERIFY_MATCH("command.verify.match"),
+        VERIFY_MISMATCH("command.verify.mismatch"),
         SESSION_RESULT_REMOVED("session.result-removed"),
         SESSION_LOST_RECOVERED("session.lost-recovered"),
         SESSION_BET_IN_PRISON("session.bet-in-prison"),
@@ -145,6 +150,9 @@ public final class Messages {
         NO_WINNING_BETS("game.no-winning-bets"),
         RESTART("game.restart"),
         PRISON_REMINDER("game.prison-reminder"),
+        FAIR_COMMITMENT("game.fair-commitment"),
+        FAIR_REVEAL("game.fair-reveal"),
+        FAIR_NOT_DERIVED("game.fair-not-derived"),
         LEAVE_PLAYER("game.leave-player"),
         ALREADY_INGAME("other.already-ingame"),
         ALREADY_PLAYING("other.already-playing"),
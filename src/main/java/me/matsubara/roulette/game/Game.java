@@ -35,6 +35,7 @@ import me.matsubara.roulette.manager.data.DataManager;
 import me.matsubara.roulette.manager.data.MapRecord;
 import me.matsubara.roulette.manager.data.RouletteSession;
 import me.matsubara.roulette.model.Model;
+import me.matsubara.roulette.model.RenderTier;
 import me.matsubara.roulette.model.stand.ModelLocation;
 import me.matsubara.roulette.model.stand.PacketStand;
 import me.matsubara.roulette.model.stand.StandSettings;
@@ -80,7 +81,6 @@ import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
-import java.util.stream.Collectors;
 
 @SuppressWarnings("unchecked")
 @Getter
@@ -130,6 +130,10 @@ public final class Game {
     // The slots disabled in this game.
     private final List<Slot> disabledSlots;
 
+    // The enabled slots of this game and the moves between them.
+    @Setter(AccessLevel.NONE)
+    private SlotTopology slotTopology;
+
     // Rules applied in this game.
     private final EnumMap<GameRule, Boolean> rules = new EnumMap<>(GameRule.class);
 
@@ -189,6 +193,12 @@ public final class Game {
     // The current slot selected in this game.
     private Slot winner;
 
+    // The random of this game, only used from the main thread.
+    private final SplittableRandom random = new SplittableRandom();
+
+    // The seed of the current round, only in provably fair mode.
+    private @Nullable RoundSeed roundSeed;
+
     // Armor stands from the table.
     private final PacketStand ball;
     private PacketStand markerDollyOne;
@@ -217,6 +227,10 @@ public final class Game {
     private static final Vector NUMBER_OFFSET = new Vector(0.18d, 0.0d, 0.265d);
     private static final float NUMBER_SCALE = 0.75f;
 
+    // Indexes of the totals of a player when checking the winner.
+    private static final int WON_MONEY = 0;
+    private static final int LOST_MONEY = 1;
+
     // NPC related.
     private static final Vector NPC_POSITION_OFFSET = new Vector(-3, 0, 1);
     private static final TextureProperty ADAM_TEXTURES = new TextureProperty("textures",
@@ -306,6 +320,7 @@ public final class Game {
         if (chipsDisabled != null && !chipsDisabled.isEmpty()) this.chipsDisabled.addAll(chipsDisabled);
 
         this.type = type;
+        updateSlotTopology();
         this.state = GameState.IDLE;
         setStartTime(startTime);
         this.betAllEnabled = betAllEnabled;
@@ -315,6 +330,7 @@ public final class Game {
 
         // Spawn join hologram.
         this.joinHologram = new Hologram(this, model.getLocation().clone().add(0.0d, 1.25d, 0.0d));
+        joinHologram.setTier(RenderTier.MID);
         updateJoinHologram(true);
 
         // Spawn spin hologram.
@@ -375,8 +391,16 @@ public final class Game {
         }
     }
 
+    /**
+     * Rebuilds the slot topology, must be called after changing the disabled slots.
+     */
+    public void updateSlotTopology() {
+        this.slotTopology = new SlotTopology(type, disabledSlots);
+    }
+
     private void handleSpawn(@NotNull World world) {
         StandManager manager = plugin.getStandManager();
+        manager.track(this);
 
         for (Player player : world.getPlayers()) {
             manager.handleStandRender(this, player, player.getLocation(), StandManager.HandleCause.SPAWN);
@@ -916,44 +940,47 @@ public final class Game {
     public void checkWinner() {
         spawnMarkerDolly();
 
+        WinTable table = WinTable.compile(type, this::isRuleEnabled, winner);
+
+        // Players that won at least once of their bets.
+        Set<Player> winners = new LinkedHashSet<>();
+
+        // The money won by every player, and the money of their losing bets.
+        Map<Player, double[]> totals = new HashMap<>();
+
+        // Resolve every bet and sum the money in a single pass.
         for (Player player : getPlayers()) {
             List<Bet> bets = getBets(player);
             if (bets.isEmpty()) continue;
 
-            for (int i = 0; i < bets.size(); i++) {
-                Bet bet = bets.get(i);
+            double[] total = new double[2];
+            totals.put(player, total);
 
-                // Ignore invalid bets.
-                Slot slot = bet.getSlot();
-                if (slot == null || !bet.hasChip()) continue;
-
-                // Check for single numbers or slots with more than 1 number.
-                if (slot == winner || slot.contains(winner)) {
-                    boolean prisonWin = isRuleEnabled(GameRule.EN_PRISON) && slot.applyForRules() && bet.isEnPrison();
-                    bet.setWinData(new WinData(player, i, prisonWin ? WinData.WinType.EN_PRISON : WinData.WinType.NORMAL));
-                    continue;
+            boolean won = resolveBets(table, bets, total, new BetResolver<>() {
+                @Override
+                public @Nullable Slot getSlot(@NotNull Bet bet) {
+                    return bet.hasChip() ? bet.getSlot() : null;
                 }
 
-                // If the checks above didn't make it, check for rules.
+                @Override
+                public double getPrice(@NotNull Bet bet) {
+                    return bet.getChip().price();
+                }
 
-                // Partage.
-                if (isRuleEnabled(GameRule.LA_PARTAGE) && winner.isZero() && slot.applyForRules()) {
-                    bet.setWinData(new WinData(player, i, WinData.WinType.LA_PARTAGE));
-                    continue;
+                @Override
+                public boolean isEnPrison(@NotNull Bet bet) {
+                    return bet.isEnPrison();
                 }
 
-                // Surrender.
-                if (type.isAmerican() && isRuleEnabled(GameRule.SURRENDER) && winner.isAnyZero() && slot.applyForRules()) {
-                    bet.setWinData(new WinData(player, i, WinData.WinType.SURRENDER));
+                @Override
+                public double win(@NotNull Bet bet, int index, Slot slot, double price, WinData.WinType winType) {
+                    bet.setWinData(new WinData(player, index, winType));
+                    return plugin.getExpectedMoney(type, price, slot, winType);
                 }
-            }
-        }
+            });
 
-        // Players that won at least once of their bets.
-        Set<Player> winners = players.entries().stream()
-                .filter(entry -> entry.getValue().getWinData() != null)
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toSet());
+            if (won) winners.add(player);
+        }
 
         RouletteEndEvent endEvent = new RouletteEndEvent(this, winners, winner);
         plugin.getServer().getPluginManager().callEvent(endEvent);
@@ -969,7 +996,9 @@ public final class Game {
                 players.entries(),
                 winner,
                 type,
-                System.currentTimeMillis());
+                System.currentTimeMillis(),
+                roundSeed != null ? roundSeed.toHex() : null,
+                roundSeed != null ? disabledSlots.stream().filter(Slot::isSingle).toList() : List.of());
 
         // Create and save maps to the database (if enabled).
         if (mapImageEnabled) {
@@ -982,15 +1011,14 @@ public final class Game {
         // Send money to the account of the game.
         if (accountGiveTo != null) {
             OfflinePlayer giveTo = Bukkit.getOfflinePlayer(accountGiveTo);
-            for (Player player : getPlayers()) {
+            for (Map.Entry<Player, double[]> entry : totals.entrySet()) {
+                Player player = entry.getKey();
+
                 // Don't take money from the same player.
                 if (giveTo.getUniqueId().equals(player.getUniqueId())) continue;
 
-                // Sum the money from all the losing bets.
-                double price = getBets(player).stream()
-                        .filter(bet -> bet.hasChip() && bet.getWinData() == null) // Don't take money from winning bets.
-                        .mapToDouble(bet -> bet.getChip().price())
-                        .sum();
+                // The money from all the losing bets (don't take money from winning bets).
+                double price = entry.getValue()[LOST_MONEY];
                 if (price == 0.0d
                         || !economyExtension.deposit(giveTo, price)
                         || !giveTo.isOnline()) continue;
@@ -1008,10 +1036,7 @@ public final class Game {
             return;
         }
 
-        String[] names = getAllBets().stream().filter(bet -> bet.getWinData() != null)
-                .map(bet -> bet.getWinData().player().getName())
-                .distinct()
-                .toArray(String[]::new);
+        int amount = winners.size();
 
         npcBroadcast(Messages.Message.WINNER);
 
@@ -1022,7 +1047,7 @@ public final class Game {
                     Messages.Message.ALL_WINNERS,
                     "%winner%",
                     line -> line
-                            .replace("%amount%", String.valueOf(names.length))
+                            .replace("%amount%", String.valueOf(amount))
                             .replace("%winner-slot%", PluginUtils.getSlotName(winner)),
                     (playing, lore, indexOf) -> sendWinners(playing, winners, lore, indexOf));
             sendPersonalBets(player);
@@ -1033,16 +1058,8 @@ public final class Game {
 
         // Transfer the winning money to the players who won.
         for (Player winner : winners) {
-            List<Bet> bets = getBets(winner);
-
-            // Sum the money from all the winning bets.
-            double price = bets.stream()
-                    .filter(bet -> bet.hasChip() && bet.getWinData() != null)
-                    .mapToDouble(plugin::getExpectedMoney)
-                    .sum();
-
             // Give all the winning money in a single transaction.
-            economyExtension.deposit(winner, price);
+            economyExtension.deposit(winner, totals.get(winner)[WON_MONEY]);
         }
 
         // Start dab animation for the player who won more money.
@@ -1075,6 +1092,50 @@ public final class Game {
         }.runTaskTimer(plugin, period, period);
     }
 
+    /**
+     * Resolves the given bets of a player, adding the money won and the money of the losing bets to the total.
+     *
+     * @return whether at least one of the bets won.
+     */
+    static <B> boolean resolveBets(@NotNull WinTable table, @NotNull List<B> bets, double @NotNull [] total, @NotNull BetResolver<B> resolver) {
+        boolean won = false;
+        for (int i = 0; i < bets.size(); i++) {
+            B bet = bets.get(i);
+
+            // Ignore invalid bets.
+            Slot slot = resolver.getSlot(bet);
+            if (slot == null) continue;
+
+            WinData.WinType winType = table.resolve(slot, resolver.isEnPrison(bet));
+            double price = resolver.getPrice(bet);
+
+            if (winType == null) {
+                total[LOST_MONEY] += price;
+                continue;
+            }
+
+            total[WON_MONEY] += resolver.win(bet, i, slot, price, winType);
+            won = true;
+        }
+        return won;
+    }
+
+    /**
+     * How {@link #resolveBets(WinTable, List, double[], BetResolver)} reads a bet, and what happens when it wins.
+     */
+    interface BetResolver<B> {
+
+        // The slot of the bet, or null if the bet isn't valid.
+        @Nullable Slot getSlot(@NotNull B bet);
+
+        double getPrice(@NotNull B bet);
+
+        boolean isEnPrison(@NotNull B bet);
+
+        // Called for every winning bet, returns the money won.
+        double win(@NotNull B bet, int index, Slot slot, double price, WinData.WinType winType);
+    }
+
     private void saveMaps(@NotNull Set<Player> winners, RouletteSession session) {
         List<MapRecord> maps = new ArrayList<>();
 
@@ -1215,7 +1276,7 @@ public final class Game {
     }
 
     private void spawnMarkerDolly() {
-        Set<Player> to = getSeeingPlayers();
+        Set<Player> to = getSeeingPlayers(RenderTier.NEAR);
 
         // Where to spawn the bottle.
         Location baseLocation = npc.getLocation().clone();
@@ -1278,7 +1339,7 @@ public final class Game {
                 .toList();
         if (betsInWinnerSlot.isEmpty()) return null;
 
-        Bet randomBet = betsInWinnerSlot.get(PluginUtils.RANDOM.nextInt(0, betsInWinnerSlot.size()));
+        Bet randomBet = betsInWinnerSlot.get(random.nextInt(betsInWinnerSlot.size()));
         int offsetIndex = randomBet.getOffsetIndex();
 
         return new Vector(axis == Axis.X ? offsets[offsetIndex] : 0.0d, 0.0d, axis == Axis.Z ? offsets[offsetIndex] : 0.0d);
@@ -1300,7 +1361,6 @@ public final class Game {
     }
 
     public void spawnFirework(@NotNull Location location) {
-        Random random = PluginUtils.RANDOM;
         spawnFirework(
                 location,
                 true,
@@ -1364,7 +1424,7 @@ public final class Game {
         // Hide the ball.
         if (ball != null) {
             ball.getSettings().getEquipment().put(ItemSlot.HEAD, RoulettePlugin.EMPTY_ITEM);
-            ball.sendEquipment(getSeeingPlayers());
+            ball.sendEquipment(getSeeingPlayers(RenderTier.MID));
         }
 
         // Stand the NPC.
@@ -1538,6 +1598,7 @@ public final class Game {
         Bukkit.getOnlinePlayers().forEach(this::closeOpenMenu);
 
         // Remove model.
+        plugin.getStandManager().untrack(this);
         model.kill();
 
         chairs.values().forEach(Entity::remove);
@@ -1747,13 +1808,18 @@ public final class Game {
         }
     }
 
+    /**
+     * @return a read-only (live) view of the players seeing this table, copy it if a snapshot is needed.
+     */
     public @NotNull Set<Player> getSeeingPlayers() {
-        World world = getLocation().getWorld();
-        if (world == null) return Collections.emptySet();
+        return getSeeingPlayers(RenderTier.FAR);
+    }
 
-        Set<Player> to = new HashSet<>(world.getPlayers());
-        to.removeIf(player -> model.getOut().contains(player.getUniqueId()));
-        return to;
+    /**
+     * @return a read-only (live) view of the players seeing (at least) the given tier of this table.
+     */
+    public @NotNull Set<Player> getSeeingPlayers(RenderTier tier) {
+        return model.getSeeing(tier);
     }
 
     public static void setTick(ArmorStand stand, boolean tick) {
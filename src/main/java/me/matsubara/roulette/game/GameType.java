@@ -7,14 +7,8 @@ import org.jetbrains.annotations.NotNull;
 import java.util.Locale;
 
 public enum GameType {
-    AMERICAN(Config.TYPE_AMERICAN), // 0 & 00.
-    EUROPEAN(Config.TYPE_EUROPEAN); // Single 0.
-
-    private final ConfigValue value;
-
-    GameType(ConfigValue value) {
-        this.value = value;
-    }
+    AMERICAN, // 0 & 00.
+    EUROPEAN; // Single 0.
 
     public boolean isAmerican() {
         return this == AMERICAN;
@@ -25,6 +19,7 @@ public enum GameType {
     }
 
     public @NotNull String getName() {
+        ConfigValue value = isAmerican() ? Config.TYPE_AMERICAN : Config.TYPE_EUROPEAN;
         return value.asStringTranslated();
     }
 
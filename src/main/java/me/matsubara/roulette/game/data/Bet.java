@@ -10,6 +10,7 @@ import me.matsubara.roulette.file.Config;
 import me.matsubara.roulette.game.Game;
 import me.matsubara.roulette.hologram.Hologram;
 import me.matsubara.roulette.model.Model;
+import me.matsubara.roulette.model.RenderTier;
 import me.matsubara.roulette.model.stand.ModelLocation;
 import me.matsubara.roulette.model.stand.PacketStand;
 import me.matsubara.roulette.model.stand.StandSettings;
@@ -206,7 +207,7 @@ public final class Bet {
     private void setStand(Slot slot, Location where) {
         this.slot = slot;
 
-        Set<Player> to = game.getSeeingPlayers();
+        Set<Player> to = game.getSeeingPlayers(RenderTier.NEAR);
 
         // No need to create another stand.
         if (!hasStand()) {
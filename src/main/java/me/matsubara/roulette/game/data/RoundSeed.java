@@ -0,0 +1,93 @@
+package me.matsubara.roulette.game.data;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+
+/**
+ * The secret seed of a provably fair round.
+ * <p>
+ * The hash of the seed (the commitment) is published when the bets open, and the seed is revealed after the spin.
+ * The winner is derived from the seed with an HMAC, so the commitment doesn't tell anything about it.
+ */
+public record RoundSeed(byte @NotNull [] seed) {
+
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+    private static final int SEED_LENGTH = 32;
+    private static final byte[] WINNER_KEY = "roulette".getBytes(StandardCharsets.UTF_8);
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    @Contract(" -> new")
+    public static @NotNull RoundSeed generate() {
+        byte[] seed = new byte[SEED_LENGTH];
+        SECURE_RANDOM.nextBytes(seed);
+        return new RoundSeed(seed);
+    }
+
+    /**
+     * @return the seed with the given hex representation, or null if invalid.
+     */
+    public static @Nullable RoundSeed fromHex(@NotNull String hex) {
+        if (hex.length() != SEED_LENGTH * 2) return null;
+
+        byte[] seed = new byte[SEED_LENGTH];
+        for (int i = 0; i < seed.length; i++) {
+            int high = Character.digit(hex.charAt(i * 2), 16);
+            int low = Character.digit(hex.charAt(i * 2 + 1), 16);
+            if (high == -1 || low == -1) return null;
+            seed[i] = (byte) (high << 4 | low);
+        }
+
+        return new RoundSeed(seed);
+    }
+
+    /**
+     * @return the SHA-256 hash of the seed, published before the spin.
+     */
+    public @NotNull String getCommitment() {
+        try {
+            return toHex(MessageDigest.getInstance("SHA-256").digest(seed));
+        } catch (GeneralSecurityException exception) {
+            // SHA-256 is supported by every JVM.
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    /**
+     * @param candidates the numbers that can win, in table order.
+     * @return the winner at index {@code unsigned(first 8 bytes of HMAC-SHA256(seed, "roulette")) % candidates}.
+     */
+    public @NotNull Slot pickWinner(Slot @NotNull [] candidates) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(seed, "HmacSHA256"));
+
+            long value = ByteBuffer.wrap(mac.doFinal(WINNER_KEY)).getLong();
+            return candidates[(int) Long.remainderUnsigned(value, candidates.length)];
+        } catch (GeneralSecurityException exception) {
+            // HmacSHA256 is supported by every JVM.
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    public @NotNull String toHex() {
+        return toHex(seed);
+    }
+
+    private static @NotNull String toHex(byte @NotNull [] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+}
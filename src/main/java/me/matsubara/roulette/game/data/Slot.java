@@ -96,6 +96,11 @@ public enum Slot {
     private final @Getter(AccessLevel.NONE) String url;
     private final int[] childs;
 
+    // The numbers of this slot as bits (0 to 36, and 37 for 00).
+    private final long mask;
+
+    private static final int DOUBLE_ZERO_BIT = 37;
+
     private static final double[] OFFSET_FOR_7 = {0.0d, -0.15d, 0.15d, -0.3d, 0.3d, -0.45d, 0.45d};
     private static final double[] OFFSET_FOR_3 = {0.0d, -0.15d, 0.15d};
     private static final double[] OFFSET_FOR_1 = {0.0d};
@@ -108,6 +113,7 @@ public enum Slot {
     Slot(String url, int... childs) {
         this.url = url;
         this.childs = childs;
+        this.mask = createMask(childs);
     }
 
     Slot(int... childs) {
@@ -179,7 +185,7 @@ public enum Slot {
         return numbers;
     }
 
-    private double getDefaultMultiplier(GameType type) {
+    public double getDefaultMultiplier(GameType type) {
         if (isSingle()) {
             return 36.0d;
         }
@@ -249,11 +255,23 @@ public enum Slot {
         // Won't happen for now, maybe when adding more slots.
         if (slot.isAnyZero()) return false;
 
-        for (int number : slot.getChilds()) {
-            if (ArrayUtils.contains(childs, number)) return true;
+        return (mask & slot.mask) != 0L;
+    }
+
+    private static long createMask(int @NotNull [] childs) {
+        long mask = 0L;
+        int zeros = 0;
+
+        for (int number : childs) {
+            if (number == 0) zeros++;
+            else mask |= 1L << number;
         }
 
-        return false;
+        // Same as amountOfZeros(), one for 0, two for 00 and three for both.
+        if (zeros == 1 || zeros == 3) mask |= 1L;
+        if (zeros >= 2) mask |= 1L << DOUBLE_ZERO_BIT;
+
+        return mask;
     }
 
     public boolean applyForRules() {
@@ -302,14 +320,11 @@ public enum Slot {
         return this == SLOT_BLACK;
     }
 
+    /**
+     * @return the enabled slots of the game (shared, must not be modified).
+     */
     public static Slot[] values(@NotNull Game game) {
-        Slot[] values = values(game.getType());
-
-        for (Slot slot : game.getDisabledSlots()) {
-            values = ArrayUtils.removeElement(values, slot);
-        }
-
-        return values;
+        return game.getSlotTopology().getSlots();
     }
 
     public static Slot[] values(@NotNull GameType type) {
@@ -317,7 +332,7 @@ public enum Slot {
     }
 
     public static Stream<Slot> singleValues(@NotNull Game game) {
-        return Arrays.stream(values(game)).filter(Slot::isSingle);
+        return Arrays.stream(game.getSlotTopology().getSingles());
     }
 
     public @Nullable String getUrl(GameType gameType) {
@@ -0,0 +1,237 @@
+package me.matsubara.roulette.game.data;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import me.matsubara.roulette.game.GameType;
+import me.matsubara.roulette.util.PluginUtils.SlotHolder;
+import org.apache.commons.lang3.ArrayUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * The slots of a table and the moves of a chip between them, computed once per table (when created).
+ * <p>
+ * The arrays are shared, they must not be modified.
+ */
+@Getter
+public final class SlotTopology {
+
+    // The enabled slots of the table, in order.
+    private final Slot[] slots;
+
+    // The enabled single numbers of the table, in order.
+    private final Slot[] singles;
+
+    // The slot reached when moving from a slot (by ordinal) to each direction, null if the chip can't move there.
+    @Getter(AccessLevel.NONE)
+    private final SlotHolder[][] moves;
+
+    // The holder of every slot (by ordinal), used when the chip doesn't move.
+    @Getter(AccessLevel.NONE)
+    private final SlotHolder[] holders;
+
+    private static final int UP = 0, DOWN = 1, LEFT = 2, RIGHT = 3;
+
+    private static final Slot[][] TABLE_GRID = {
+            {Slot.SLOT_3, Slot.SLOT_6, Slot.SLOT_9, Slot.SLOT_12, Slot.SLOT_15, Slot.SLOT_18, Slot.SLOT_21, Slot.SLOT_24, Slot.SLOT_27, Slot.SLOT_30, Slot.SLOT_33, Slot.SLOT_36, Slot.SLOT_COLUMN_3},
+            {Slot.SLOT_2, Slot.SLOT_5, Slot.SLOT_8, Slot.SLOT_11, Slot.SLOT_14, Slot.SLOT_17, Slot.SLOT_20, Slot.SLOT_23, Slot.SLOT_26, Slot.SLOT_29, Slot.SLOT_32, Slot.SLOT_35, Slot.SLOT_COLUMN_2},
+            {Slot.SLOT_1, Slot.SLOT_4, Slot.SLOT_7, Slot.SLOT_10, Slot.SLOT_13, Slot.SLOT_16, Slot.SLOT_19, Slot.SLOT_22, Slot.SLOT_25, Slot.SLOT_28, Slot.SLOT_31, Slot.SLOT_34, Slot.SLOT_COLUMN_1},
+            {Slot.SLOT_DOZEN_1, Slot.SLOT_DOZEN_2, Slot.SLOT_DOZEN_3},
+            {Slot.SLOT_LOW, Slot.SLOT_EVEN, Slot.SLOT_RED, Slot.SLOT_BLACK, Slot.SLOT_ODD, Slot.SLOT_HIGH}
+    };
+
+    public SlotTopology(@NotNull GameType type, @NotNull Collection<Slot> disabled) {
+        this.slots = Arrays.stream(Slot.values(type))
+                .filter(slot -> !disabled.contains(slot))
+                .toArray(Slot[]::new);
+        this.singles = Arrays.stream(slots)
+                .filter(Slot::isSingle)
+                .toArray(Slot[]::new);
+
+        boolean european = type.isEuropean();
+        Slot[][] grid = createGrid(european);
+
+        Slot[] values = Slot.values();
+        this.moves = new SlotHolder[4][values.length];
+        this.holders = new SlotHolder[values.length];
+
+        for (Slot slot : values) {
+            int index = slot.ordinal();
+            holders[index] = SlotHolder.of(slot);
+            moves[UP][index] = computeMove(grid, european, slot, true, false, false, false);
+            moves[DOWN][index] = computeMove(grid, european, slot, false, true, false, false);
+            moves[LEFT][index] = computeMove(grid, european, slot, false, false, true, false);
+            moves[RIGHT][index] = computeMove(grid, european, slot, false, false, false, true);
+        }
+    }
+
+    /**
+     * @return where the chip in the current slot goes, null if it can't move there.
+     */
+    public @Nullable SlotHolder move(@NotNull Slot current, boolean up, boolean down, boolean left, boolean right) {
+        int index = current.ordinal();
+
+        // Order of execution = up, down, left, right (a player can't move to opposite sides at once).
+        if (up) return moves[UP][index];
+        if (down) return moves[DOWN][index];
+        if (left) return moves[LEFT][index];
+        if (right) return moves[RIGHT][index];
+
+        // The player didn't move his bet.
+        return holders[index];
+    }
+
+    private static Slot @NotNull [][] createGrid(boolean european) {
+        Slot[][] clone = TABLE_GRID.clone();
+        if (european) {
+            // Single 0.
+            clone[1] = ArrayUtils.insert(0, clone[1], Slot.SLOT_0);
+            return clone;
+        }
+
+        // Double 0.
+        clone[0] = ArrayUtils.insert(0, clone[0], Slot.SLOT_00);
+        clone[2] = ArrayUtils.insert(0, clone[2], Slot.SLOT_0);
+        return clone;
+    }
+
+    private static @Nullable SlotHolder computeMove(Slot[][] grid, boolean european, Slot current, boolean up, boolean down, boolean left, boolean right) {
+        // The player didn't move his bet.
+        if (!up && !down && !left && !right) return SlotHolder.of(current);
+
+        int row = -1, column = -1;
+
+        // Find the current row and column.
+        for (int i = 0; i < grid.length; i++) {
+            int index = ArrayUtils.indexOf(grid[i], current);
+            if (index == -1) continue;
+
+            row = i;
+            column = index;
+        }
+
+        if (row == -1) return SlotHolder.of(current);
+
+        boolean zero = current.isZero(),
+                doubleZero = current.isDoubleZero();
+
+        // Handle up.
+        if (up) {
+            // Column 3.
+            if (row == 0) return null;
+
+            // Column 1 & 2.
+            if (row < 3) {
+                // We are at 0 (0x1), can't go up.
+                if (european && zero) return null;
+
+                if (!european) {
+                    // We are at 0 (2x0), go to 00 (0x0).
+                    if (zero) return SlotHolder.of(Slot.SLOT_00);
+
+                    // We are at 00 (0x0), can't go up.
+                    if (doubleZero) return null;
+                }
+
+                // If the current row has a zero, we want to reduce a column, otherwise increase one.
+                if (grid[row].length != 13 && column > 0) column--;
+                else column++;
+
+                // Go up.
+                return SlotHolder.of(grid[row - 1][column]);
+            }
+
+            // Dozens, go to the first slot of the dozen (not zeros).
+            if (row == 3) {
+                Slot[] slots = grid[row - 1];
+                int extra = slots.length != 13 ? 1 : 0;
+                return SlotHolder.of(slots[(column * 4) + extra]);
+            }
+
+            // Even-money slots, go to the top dozen.
+            return SlotHolder.of(grid[row - 1][column / 2]);
+        }
+
+        // Handle down.
+        if (down) {
+            // Even-money slot, we can't go down.
+            if (row == 4) return null;
+
+            // Dozens, go to the first element of the pair below.
+            if (row == 3) {
+                Slot[] slots = grid[row + 1];
+                int goToColumn = column * 2;
+                return SlotHolder.of(slots[goToColumn], slots[goToColumn + 1]);
+            }
+
+            // Column 1.
+            if (row == 2) {
+                // Can't go below 0.
+                if (zero) return null;
+
+                // Can't go below column slot.
+                if (column == grid[row].length - 1) return null;
+
+                // Go to a dozen.
+                if (grid[row].length != 13) column--;
+                return SlotHolder.of(grid[row + 1][column / 4]);
+            }
+
+            // We are at 0 (0x1), can't go down.
+            if (european && zero) return null;
+
+            if (!european) {
+                // We are at 0 (2x0), can't go down.
+                if (zero) return null;
+                // We are at 00 (0x0), go to 0 (2x0).
+                if (doubleZero) return SlotHolder.of(Slot.SLOT_0);
+            }
+
+            // If the current row has a zero, we want to reduce a column, otherwise increase one.
+            if (grid[row].length != 13 && column > 0) column--;
+            else column++;
+
+            // Go down.
+            return SlotHolder.of(grid[row + 1][column]);
+        }
+
+        return SlotHolder.of(handleSideways(european, current, grid, row, column, left, right));
+    }
+
+    private static @Nullable Slot handleSideways(
+            boolean european,
+            @NotNull Slot current,
+            Slot[][] grid,
+            int row,
+            int column,
+            boolean left,
+            boolean right) {
+        boolean zero = current.isZero(), anyZero = current.isAnyZero();
+        int length = grid[row].length;
+
+        // No more slots at the left of zeros.
+        if (anyZero && left) {
+            return null;
+        }
+
+        // If single zero and current is 1 or 3, go to 0.
+        if (row < 3 && left && european && !zero && column == 0) {
+            return grid[1][0];
+        }
+
+        // If double zero and current is 2, go to 0.
+        if (row < 3 && left && !european && column == 0) {
+            return grid[2][0];
+        }
+
+        // No more slots at the left or right.
+        if ((right && column == length - 1) || left && column == 0) return null;
+
+        // Move to the side.
+        int goToColumn = column + (right ? 1 : -1);
+        return grid[row][goToColumn];
+    }
+}
@@ -19,6 +19,21 @@ public record WinData(Player player, int betIndex, WinType winType) {
             this.shortName = shortName;
         }
 
+        /**
+         * @param price      the price of the bet.
+         * @param multiplier the multiplier of the slot of the bet.
+         * @return the money given to the player for a bet won this way.
+         */
+        public double getMoney(double price, double multiplier) {
+            if (isNormalWin()) return price * multiplier;
+
+            // Half-money if is partage.
+            if (isLaPartageWin() || isSurrenderWin()) return price / 2;
+
+            // Original money.
+            return price;
+        }
+
         public boolean isNormalWin() {
             return this == NORMAL;
         }
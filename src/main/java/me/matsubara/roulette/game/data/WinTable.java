@@ -0,0 +1,69 @@
+package me.matsubara.roulette.game.data;
+
+import me.matsubara.roulette.game.GameRule;
+import me.matsubara.roulette.game.GameType;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Predicate;
+
+/**
+ * The outcome of a bet in every slot for a winning slot, so resolving a bet is a single lookup.
+ * <p>
+ * The rules (and the game type) are checked once when compiling the table, instead of once per bet.
+ */
+public final class WinTable {
+
+    // The outcome by slot (ordinal), null if the bet is lost.
+    private final WinData.WinType[] normal;
+    private final WinData.WinType[] prison;
+
+    private static final Slot[] SLOTS = Slot.values();
+
+    private WinTable(WinData.WinType[] normal, WinData.WinType[] prison) {
+        this.normal = normal;
+        this.prison = prison;
+    }
+
+    @Contract("_, _, _ -> new")
+    public static @NotNull WinTable compile(@NotNull GameType type, @NotNull Predicate<GameRule> rules, @NotNull Slot winner) {
+        WinData.WinType[] normal = new WinData.WinType[SLOTS.length];
+        WinData.WinType[] prison = new WinData.WinType[SLOTS.length];
+
+        boolean enPrison = rules.test(GameRule.EN_PRISON);
+
+        // Partage only applies if the winner is 0; surrender only in american tables, if the winner is 0 or 00.
+        boolean partage = rules.test(GameRule.LA_PARTAGE) && winner.isZero();
+        boolean surrender = type.isAmerican() && rules.test(GameRule.SURRENDER) && winner.isAnyZero();
+
+        for (Slot slot : SLOTS) {
+            int index = slot.ordinal();
+            boolean applyForRules = slot.applyForRules();
+
+            // Check for single numbers or slots with more than 1 number.
+            if ((slot.getMask() & winner.getMask()) != 0L) {
+                normal[index] = WinData.WinType.NORMAL;
+                prison[index] = enPrison && applyForRules ? WinData.WinType.EN_PRISON : WinData.WinType.NORMAL;
+                continue;
+            }
+
+            // If the checks above didn't make it, check for rules.
+            if (!applyForRules) continue;
+
+            WinData.WinType rule = partage ? WinData.WinType.LA_PARTAGE : surrender ? WinData.WinType.SURRENDER : null;
+            normal[index] = rule;
+            prison[index] = rule;
+        }
+
+        return new WinTable(normal, prison);
+    }
+
+    /**
+     * @param enPrison whether the bet is in prison.
+     * @return how the bet in the given slot won, or null if lost.
+     */
+    public @Nullable WinData.WinType resolve(@NotNull Slot slot, boolean enPrison) {
+        return (enPrison ? prison : normal)[slot.ordinal()];
+    }
+}
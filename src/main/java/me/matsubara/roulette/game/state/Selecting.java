@@ -12,6 +12,7 @@ import me.matsubara.roulette.game.Game;
 import me.matsubara.roulette.game.GameState;
 import me.matsubara.roulette.game.data.Bet;
 import me.matsubara.roulette.game.data.PlayerInput;
+import me.matsubara.roulette.game.data.RoundSeed;
 import me.matsubara.roulette.game.data.Slot;
 import me.matsubara.roulette.gui.ChipGUI;
 import me.matsubara.roulette.model.stand.ModelLocation;
@@ -61,6 +62,13 @@ public final class Selecting extends BukkitRunnable {
         game.lookAtFace(game.getPlayersNPCFace());
         game.npcBroadcast(Messages.Message.BETS);
 
+        // Commit to the seed of this round before any bet is made.
+        RoundSeed seed = Config.PROVABLY_FAIR.asBool() ? RoundSeed.generate() : null;
+        game.setRoundSeed(seed);
+        if (seed != null) {
+            game.broadcast(Messages.Message.FAIR_COMMITMENT, line -> line.replace("%hash%", seed.getCommitment()));
+        }
+
         // Hide the join hologram for every player.
         game.getJoinHologram().setVisibleByDefault(false);
 
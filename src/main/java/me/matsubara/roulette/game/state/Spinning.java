@@ -11,8 +11,10 @@ import me.matsubara.roulette.file.Messages;
 import me.matsubara.roulette.game.Game;
 import me.matsubara.roulette.game.GameState;
 import me.matsubara.roulette.game.data.Bet;
+import me.matsubara.roulette.game.data.RoundSeed;
 import me.matsubara.roulette.game.data.Slot;
 import me.matsubara.roulette.hologram.Hologram;
+import me.matsubara.roulette.model.RenderTier;
 import me.matsubara.roulette.model.stand.PacketStand;
 import me.matsubara.roulette.model.stand.data.ItemSlot;
 import me.matsubara.roulette.npc.NPC;
@@ -35,9 +37,12 @@ public final class Spinning extends BukkitRunnable {
     private final PacketStand ball;
     private final Slot[] slots;
     private final int totalTime;
+    private final boolean interpolate;
 
     private int time;
+    private float yaw;
     private boolean shouldStart;
+    private boolean seedDerived;
     private @Setter Slot force;
     private @Setter Player forcedBy;
 
@@ -45,12 +50,16 @@ public final class Spinning extends BukkitRunnable {
     private final String hologramWinningNumber = Config.WINNING_NUMBER.asStringTranslated();
     private final XSound.Record spinningSound = XSound.parse(Config.SOUND_SPINNING.asString());
 
+    // Ticks between the ball keyframes when the client interpolates the spin (30 degrees per tick, must stay below 180).
+    private static final int KEYFRAME_TICKS = 5;
+
     public Spinning(@NotNull RoulettePlugin plugin, @NotNull Game game) {
         this.plugin = plugin;
         this.game = game;
         this.ball = game.getBall();
         this.slots = Slot.singleValues(game).toArray(Slot[]::new);
         this.totalTime = Config.COUNTDOWN_SORTING.asInt() * 20;
+        this.interpolate = ball != null && ball.supportsTeleportDuration();
         this.time = totalTime;
         this.shouldStart = true;
 
@@ -87,8 +96,14 @@ public final class Spinning extends BukkitRunnable {
         // Show ball, shouldn't be null.
         if (ball == null) return;
 
+        yaw = ball.getLocation().getYaw();
+
         ball.getSettings().getEquipment().put(ItemSlot.HEAD, new ItemStack(Material.END_ROD));
-        ball.sendEquipment(game.getSeeingPlayers());
+
+        // The client animates the ball between the keyframes, sent with the equipment.
+        if (interpolate) ball.getSettings().setTeleportDuration(KEYFRAME_TICKS);
+
+        ball.sendEquipment(game.getSeeingPlayers(RenderTier.MID));
     }
 
     @Override
@@ -108,24 +123,45 @@ public final class Spinning extends BukkitRunnable {
             game.setState(GameState.ENDING);
             game.checkWinner();
 
+            // The winner is already known, so the seed can be revealed (unless the winner didn't come from it).
+            RoundSeed seed = game.getRoundSeed();
+            if (seed != null) {
+                game.broadcast(seedDerived ? Messages.Message.FAIR_REVEAL : Messages.Message.FAIR_NOT_DERIVED, line -> line
+                        .replace("%seed%", seed.toHex())
+                        .replace("%hash%", seed.getCommitment()));
+            }
+
             cancel();
             return;
         }
 
         // Spin ball.
-        Location location = ball.getLocation();
-        location.setYaw(location.getYaw() + (time >= totalTime / 3 ? 30.0f : (30.0f * time / totalTime)));
-        ball.teleport(game.getSeeingPlayers(), location);
+        yaw += time >= totalTime / 3 ? 30.0f : (30.0f * time / totalTime);
+
+        // When interpolated, only the keyframes (and the final rotation) are sent, the stand keeps the last one sent.
+        if (!interpolate || time % KEYFRAME_TICKS == 0 || time == 1) {
+            Location location = ball.getLocation().clone();
+            location.setYaw(yaw);
+            ball.move(game.getSeeingPlayers(RenderTier.MID), location);
+        }
 
         // Select a random number.
-        int which = PluginUtils.RANDOM.nextInt(slots.length);
+        int which = game.getRandom().nextInt(slots.length);
         game.setWinner(slots[which]);
 
         if (time == 1) {
+            // In provably fair mode, the winner comes from the seed (the previous numbers are only visual).
+            RoundSeed seed = game.getRoundSeed();
+            Slot derived = seed != null ? seed.pickWinner(slots) : null;
+            if (derived != null) game.setWinner(derived);
+
             Slot winner = Optional.ofNullable(force).orElse(game.getWinner());
             LastRouletteSpinEvent event = new LastRouletteSpinEvent(game, winner, forcedBy);
             plugin.getServer().getPluginManager().callEvent(event);
             game.setWinner(event.getWinnerSlot());
+
+            // The winner may have been forced, or changed by another plugin.
+            seedDerived = derived != null && derived == event.getWinnerSlot();
         }
 
         String slotName = PluginUtils.getSlotName(game.getWinner());
@@ -149,4 +185,14 @@ public final class Spinning extends BukkitRunnable {
 
         time--;
     }
-}
\ No newline at end of file
+
+    @Override
+    public synchronized void cancel() throws IllegalStateException {
+        // Following moves of the ball shouldn't be animated, also when the game restarts while spinning.
+        if (interpolate && ball.getSettings().getTeleportDuration() != 0) {
+            ball.getSettings().setTeleportDuration(0);
+            ball.sendMetadata(game.getSeeingPlayers(RenderTier.MID));
+        }
+        super.cancel();
+    }
+}
@@ -6,12 +6,14 @@ import me.matsubara.roulette.RoulettePlugin;
 import me.matsubara.roulette.file.Config;
 import me.matsubara.roulette.game.Game;
 import me.matsubara.roulette.gui.RouletteGUI;
+import me.matsubara.roulette.manager.data.DataManager;
 import me.matsubara.roulette.manager.data.PlayerResult;
 import me.matsubara.roulette.manager.data.RouletteSession;
 import me.matsubara.roulette.util.InventoryUpdate;
 import me.matsubara.roulette.util.ItemBuilder;
 import me.matsubara.roulette.util.PluginUtils;
 import org.apache.commons.lang3.ArrayUtils;
+import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.InventoryClickEvent;
@@ -62,11 +64,10 @@ public final class SessionsGUI extends RouletteGUI {
     public void updateInventory() {
         inventory.clear();
 
-        // Get the list of sessions.
-        List<RouletteSession> sessions = plugin.getDataManager().getSessions();
+        DataManager dataManager = plugin.getDataManager();
 
         // Page formula.
-        pages = (int) (Math.ceil((double) sessions.size() / SLOTS.length));
+        pages = (int) (Math.ceil((double) dataManager.getSessionCount() / SLOTS.length));
 
         ItemStack background = new ItemBuilder(Material.GRAY_STAINED_GLASS_PANE)
                 .setDisplayName("&7")
@@ -86,19 +87,28 @@ public final class SessionsGUI extends RouletteGUI {
         // If the current page isn't the last one, show the next page item.
         if (currentPage < pages - 1) inventory.setItem(25, getItem("next").build());
 
-        // Assigning slots.
-        Map<Integer, Integer> slotIndex = new HashMap<>();
-        for (int i : SLOTS) {
-            slotIndex.put(ArrayUtils.indexOf(SLOTS, i), i);
-        }
+        // Old pages may need to be fetched from the database.
+        int page = currentPage;
+        dataManager.getSessionsPage(page, SLOTS.length).thenAccept(sessions -> {
+            if (Bukkit.isPrimaryThread()) {
+                fillSessions(page, sessions);
+            } else {
+                runTask(() -> fillSessions(page, sessions));
+            }
+        });
 
-        // Where to start.
-        int startFrom = currentPage * SLOTS.length;
+        // Update inventory title to show the current page.
+        InventoryUpdate.updateInventory(player, Config.SESSIONS_MENU_TITLE.asStringTranslated()
+                .replace("%page%", String.valueOf(currentPage + 1))
+                .replace("%max%", String.valueOf(pages)));
+    }
 
-        boolean isLastPage = currentPage == pages - 1;
+    private void fillSessions(int page, @NotNull List<RouletteSession> sessions) {
+        // The player changed the page while this one was being loaded.
+        if (page != currentPage) return;
 
-        for (int index = 0, aux = startFrom; isLastPage ? (index < sessions.size() - startFrom) : (index < SLOTS.length); index++, aux++) {
-            RouletteSession session = sessions.get(aux);
+        for (int index = 0; index < Math.min(sessions.size(), SLOTS.length); index++) {
+            RouletteSession session = sessions.get(index);
 
             ItemBuilder builder = getItem("session")
                     .replace("%name%", session.name())
@@ -112,14 +122,9 @@ public final class SessionsGUI extends RouletteGUI {
                 builder.addLore("", Config.SESSIONS_ONLY_VICTORIES_TEXT.asStringTranslated());
             }
 
-            inventory.setItem(slotIndex.get(index), builder
+            inventory.setItem(SLOTS[index], builder
                     .build());
         }
-
-        // Update inventory title to show the current page.
-        InventoryUpdate.updateInventory(player, Config.SESSIONS_MENU_TITLE.asStringTranslated()
-                .replace("%page%", String.valueOf(currentPage + 1))
-                .replace("%max%", String.valueOf(pages)));
     }
 
     @Contract(pure = true)
@@ -143,10 +148,12 @@ public final class SessionsGUI extends RouletteGUI {
         UUID sessionUUID = meta.getPersistentDataContainer().get(plugin.getSessionKey(), PluginUtils.UUID_TYPE);
         if (sessionUUID == null) return;
 
-        RouletteSession session = plugin.getDataManager().getSessionByUUID(sessionUUID);
-        if (session == null) return;
+        // The session may have to be fetched from the database.
+        plugin.getDataManager().fetchSession(sessionUUID).thenAccept(session -> {
+            if (session == null) return;
 
-        // Open results.
-        runTask(() -> new SessionResultGUI(plugin, player, session));
+            // Open results.
+            runTask(() -> new SessionResultGUI(plugin, player, session));
+        });
     }
 }
\ No newline at end of file
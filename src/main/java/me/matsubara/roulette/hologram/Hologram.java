@@ -1,8 +1,10 @@
 package me.matsubara.roulette.hologram;
 
 import lombok.Getter;
+import lombok.Setter;
 import me.matsubara.roulette.RoulettePlugin;
 import me.matsubara.roulette.game.Game;
+import me.matsubara.roulette.model.RenderTier;
 import me.matsubara.roulette.model.stand.PacketStand;
 import me.matsubara.roulette.model.stand.StandSettings;
 import me.matsubara.roulette.util.PluginUtils;
@@ -42,6 +44,9 @@ public final class Hologram {
     // If this hologram is visible by default.
     private boolean visibleByDefault;
 
+    // The tier of the table from which this hologram is rendered.
+    private @Setter RenderTier tier = RenderTier.NEAR;
+
     // Task used for rainbow color.
     private int taskId = -1;
 
@@ -80,7 +85,7 @@ public final class Hologram {
 
         for (Player player : world.getPlayers()) {
             if (game.equals(plugin.getGameManager().getGameByPlayer(player))) continue;
-            if (game.getModel().getOut().contains(player.getUniqueId())) continue;
+            if (!game.getSeeingPlayers(tier).contains(player)) continue;
 
             if (visibleByDefault) {
                 if (isVisibleTo(player, false)) showPackets(player);
@@ -132,11 +137,7 @@ public final class Hologram {
 
         Location current = location.clone().add(0.0d, (LINE_DISTANCE * lines.size()) - 1.97d, 0.0d);
 
-        World world = location.getWorld();
-        if (world == null) return;
-
-        HashSet<Player> temp = new HashSet<>(world.getPlayers());
-        temp.removeIf(player -> !isVisibleTo(player) || !game.getSeeingPlayers().contains(player));
+        Collection<Player> temp = getViewers();
         if (temp.isEmpty()) return;
 
         for (int i = 0; i < lines.size(); i++) {
@@ -182,6 +183,19 @@ public final class Hologram {
         }
     }
 
+    private @NotNull Collection<Player> getViewers() {
+        Set<Player> seeing = game.getSeeingPlayers(tier);
+
+        // Visible to every player seeing the table, no need to filter them.
+        if (visibleByDefault && !visibility.containsValue(false)) return seeing;
+
+        List<Player> viewers = new ArrayList<>();
+        for (Player player : seeing) {
+            if (isVisibleTo(player)) viewers.add(player);
+        }
+        return viewers;
+    }
+
     public @Nullable PacketStand getByName(String name) {
         for (PacketStand stand : stands) {
             String partName = stand.getSettings().getPartName();
@@ -4,6 +4,7 @@ import com.cryptomorin.xseries.reflection.XReflection;
 import com.google.common.base.Preconditions;
 import lombok.Getter;
 import me.matsubara.roulette.RoulettePlugin;
+import me.matsubara.roulette.file.Config;
 import me.matsubara.roulette.file.Messages;
 import me.matsubara.roulette.game.Game;
 import me.matsubara.roulette.game.GameRule;
@@ -130,7 +131,7 @@ public final class GameManager extends BukkitRunnable implements Listener {
     }
 
     public void addFreshGame(String name, int minPlayers, int maxPlayers, GameType type, UUID modelId, Location location, UUID owner, int startTime) {
-        add(name, null, null, null, minPlayers, maxPlayers, type, modelId, location, owner, startTime, true, 0, null, true, null, 20.0d, null, null, false, false, null, null, null, null, null, null);
+        add(name, null, null, null, minPlayers, maxPlayers, type, modelId, location, owner, startTime, true, 0, null, true, null, 20.0d, null, null, false, false, null, null, null, null, null, Config.DISPLAY_ENTITIES.asBool(), null);
     }
 
     public void add(
@@ -160,6 +161,7 @@ public final class GameManager extends BukkitRunnable implements Listener {
             @Nullable Material carpet,
             @Nullable Material customization,
             @Nullable Integer patternIndex,
+            boolean displayEntities,
             @Nullable List<String> chipsDisabled) {
         Game game = new Game(
                 plugin,
@@ -167,7 +169,7 @@ public final class GameManager extends BukkitRunnable implements Listener {
                 npcName,
                 npcTexture,
                 npcSignature,
-                new Model(plugin, type, modelId, location, carpet, customization, patternIndex),
+                new Model(plugin, type, modelId, location, carpet, customization, patternIndex, displayEntities),
                 minPlayers,
                 maxPlayers,
                 type,
@@ -214,6 +216,9 @@ public final class GameManager extends BukkitRunnable implements Listener {
         configuration.set("games." + name + ".model.deco-pattern", null); // Previous mapping.
         configuration.set("games." + name + ".model.pattern-index", model.getPatternIndex());
 
+        // Save the render mode (armor stands or item displays).
+        configuration.set("games." + name + ".model.display-entities", model.isDisplayEntities());
+
         // Save location.
         saveLocation(name, game.getLocation());
 
@@ -281,6 +286,7 @@ public final class GameManager extends BukkitRunnable implements Listener {
             Material customization = PluginUtils.getOrNull(Material.class, configuration.getString("games." + path + ".model.customization-group"));
 
             int patternIndex = configuration.getInt("games." + path + ".model.pattern-index", -1);
+            boolean displayEntities = configuration.getBoolean("games." + path + ".model.display-entities", false);
 
             // Load location.
             Location location = loadLocation(path);
@@ -344,6 +350,7 @@ public final class GameManager extends BukkitRunnable implements Listener {
                     carpet,
                     customization,
                     patternIndex,
+                    displayEntities,
                     chipsDisabled);
         }
 
@@ -8,12 +8,15 @@ import me.matsubara.roulette.game.Game;
 import me.matsubara.roulette.game.data.Bet;
 import me.matsubara.roulette.hologram.Hologram;
 import me.matsubara.roulette.model.Model;
+import me.matsubara.roulette.model.RenderTier;
 import me.matsubara.roulette.model.stand.PacketStand;
+import me.matsubara.roulette.model.stand.PacketStreamer;
 import me.matsubara.roulette.model.stand.animator.ArmorStandAnimator;
+import me.matsubara.roulette.util.ChunkGrid;
+import me.matsubara.roulette.util.MoveTracker;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Server;
-import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
@@ -22,19 +25,27 @@ import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Collection;
-import java.util.Objects;
-import java.util.Set;
-import java.util.UUID;
+import java.util.*;
 
 public final class StandManager implements Listener, Runnable {
 
     private final RoulettePlugin plugin;
+    private final ChunkGrid<Game> grid = new ChunkGrid<>();
+    private final MoveTracker tracker = new MoveTracker(MOVE_THRESHOLD);
+    private final PacketStreamer streamer;
 
     private static final double BUKKIT_VIEW_DISTANCE = Math.pow(Bukkit.getViewDistance() << 4, 2);
+    private static final double MOVE_THRESHOLD = 1.0d;
+
+    // The parts of the model that are spawned before the rest (the wheel, the ball, the chairs and the legs of the table).
+    private static final List<String> ESSENTIAL_PARTS = List.of("SPINNER", "BALL", "CHAIR", "FEET");
+
+    // The parts of the model rendered from any distance (the wheel and the body of the table).
+    private static final List<String> FAR_PARTS = List.of("SPINNER", "FEET", "PART", "SIDE");
 
     public StandManager(RoulettePlugin plugin) {
         this.plugin = plugin;
+        this.streamer = new PacketStreamer(plugin);
         Server server = this.plugin.getServer();
         server.getPluginManager().registerEvents(this, plugin);
         server.getScheduler().runTaskTimerAsynchronously(plugin, this, 20L, 20L);
@@ -42,23 +53,40 @@ public final class StandManager implements Listener, Runnable {
 
     @Override
     public void run() {
-        // Here we will handle the visibility of the table to the players in the world.
+        // Here we will handle the visibility of the tables to the players that moved since the last check.
         // This approach should be much better than doing it in PlayerMoveEvent.
-        for (Game game : plugin.getGameManager().getGames()) {
-            World world = game.getLocation().getWorld();
-            if (world == null) continue;
+        double range = Math.sqrt(getRenderDistance()) + MOVE_THRESHOLD;
+
+        for (Player player : List.copyOf(Bukkit.getOnlinePlayers())) {
+            Location location = player.getLocation();
+
+            Location last = tracker.getLast(player);
+            if (!tracker.hasMoved(last, location)) continue;
+            tracker.update(player, location);
 
-            for (Player player : world.getPlayers()) {
-                handleStandRender(game, player, player.getLocation(), HandleCause.MOVE);
+            // Only the tables around the player (and the ones around the previous location, in case they have to be hidden).
+            for (Game game : grid.getNearby(location, last, range)) {
+                handleStandRender(game, player, location, HandleCause.MOVE);
             }
         }
     }
 
+    public void track(@NotNull Game game) {
+        grid.add(game, game.getLocation());
+    }
+
+    public void untrack(Game game) {
+        grid.remove(game);
+    }
+
     @EventHandler
     public void onPlayerQuit(@NotNull PlayerQuitEvent event) {
-        UUID uuid = event.getPlayer().getUniqueId();
+        Player player = event.getPlayer();
+        tracker.remove(player);
+        streamer.remove(player);
+
         for (Game game : plugin.getGameManager().getGames()) {
-            game.getModel().getOut().remove(uuid);
+            game.getModel().setTier(player, null);
         }
     }
 
@@ -85,6 +113,9 @@ public final class StandManager implements Listener, Runnable {
     }
 
     private void handleStandRender(Player player, Location location) {
+        // Every table was handled from this location, so the next check only needs the tables around it.
+        tracker.update(player, location);
+
         for (Game game : plugin.getGameManager().getGames()) {
             handleStandRender(game, player, location, HandleCause.SPAWN);
         }
@@ -92,92 +123,127 @@ public final class StandManager implements Listener, Runnable {
 
     public void handleStandRender(@NotNull Game game, @NotNull Player player, Location location, HandleCause cause) {
         Model model = game.getModel();
-        Set<UUID> out = model.getOut();
-        UUID playerUUID = player.getUniqueId();
 
         // The table is in another world, there is no need to send packets.
         if (!Objects.equals(player.getWorld(), model.getLocation().getWorld())) {
-            out.add(playerUUID);
+            model.setTier(player, null);
             return;
         }
 
-        boolean range = isInRange(model.getLocation(), location);
-        boolean ignored = out.contains(playerUUID);
+        double distance = model.getLocation().distanceSquared(location);
+
+        RenderTier current = model.getTier(player);
+        RenderTier tier = RenderTier.byDistance(distance, getRenderDistance());
         boolean spawn = cause == HandleCause.SPAWN;
 
-        boolean show = range && (ignored || spawn);
-        boolean destroy = !range && !ignored;
-        if (!show && !destroy) return;
+        // When spawning, every tier in range is sent again (the player doesn't have any of them).
+        if (tier == current && (!spawn || tier == null)) return;
 
-        if (show) {
-            out.remove(playerUUID);
-        } else {
-            out.add(playerUUID);
-            if (spawn) return;
-        }
+        model.setTier(player, tier);
 
-        // Spawn the entire model in another thread.
-        plugin.getPool().execute(() -> {
-            // Show/hide model stands.
-            handleStandRender(player, model.getStands(), show);
+        for (RenderTier level : RenderTier.values()) {
+            boolean shown = !spawn && current != null && current.includes(level);
+            boolean show = tier != null && tier.includes(level);
+            if (show == shown) continue;
 
-            // Show/hide holograms stands.
-            for (Bet bet : game.getAllBets()) {
+            // The stands of this tier, the essential parts of the model first.
+            List<PacketStand> stands = new ArrayList<>();
+            List<PacketStand> hidden = new ArrayList<>();
+            collectStands(game, player, level, stands, hidden);
 
-                // Show/hide chip stand.
-                if (bet.hasStand()) {
-                    handleStandRender(player, bet.getStand(), show);
-                }
+            Layer layer = new Layer(game, level);
 
-                // Show/hide hologram.
-                if (bet.hasHologram() && bet.getHologram().isVisibleTo(player)) {
-                    handleStandRender(player, bet.getHologram().getStands(), show);
-                }
+            if (show) {
+                // Destroyed before queueing the new spawn, since it also cancels the spawn of this tier that's still queued (if any).
+                if (!hidden.isEmpty()) streamer.destroy(player, layer, hidden);
+
+                // The spawns are streamed (nearest tables first) to avoid sending every model at once.
+                streamer.queueSpawn(player, layer, Math.sqrt(distance), stands);
+            } else if (!spawn) {
+                // Destroying also cancels the spawns of this tier that are still queued.
+                stands.addAll(hidden);
+                streamer.destroy(player, layer, stands);
             }
+        }
+    }
 
+    private void collectStands(@NotNull Game game, Player player, @NotNull RenderTier level, List<PacketStand> stands, List<PacketStand> hidden) {
+        if (level == RenderTier.FAR || level == RenderTier.MID) {
+            // Show/hide model stands.
+            game.getModel().getStands().stream()
+                    .filter(stand -> isFar(stand) == (level == RenderTier.FAR))
+                    .sorted(Comparator.comparingInt(stand -> isEssential(stand) ? 0 : 1))
+                    .forEach(stands::add);
+        }
+
+        if (level == RenderTier.MID) {
             // Show/hide join hologram stands.
             Hologram join = game.getJoinHologram();
-            handleStandRender(player, join.getStands(), show && join.isVisibleTo(player));
+            (join.isVisibleTo(player) ? stands : hidden).addAll(join.getStands());
+        }
 
-            // Show/hide spin hologram stands.
-            if (game.isSpinningGlobal() || game.isPlaying(player)) {
-                handleStandRender(player, game.getSpinHologram().getStands(), show);
-            }
+        if (level != RenderTier.NEAR) return;
 
-            // Show/hide selected stands.
-            PacketStand markerDollyOne = game.getMarkerDollyOne();
-            PacketStand markerDollyTwo = game.getMarkerDollyTwo();
-            if (markerDollyOne != null) handleStandRender(player, markerDollyOne, show);
-            if (markerDollyTwo != null) handleStandRender(player, markerDollyTwo, show);
+        // Show/hide holograms stands.
+        for (Bet bet : game.getAllBets()) {
 
-            // Show/hide money animation stands.
-            MoneyAnimation money = game.getMoneyAnimation();
-            if (money != null && money.getSeeing().contains(player)) {
-                handleStandRender(player, money.getMoneySlot(), show);
+            // Show/hide chip stand.
+            if (bet.hasStand()) {
+                stands.add(bet.getStand());
             }
 
-            // Show/hide dab animation stands.
-            DabAnimation dab = game.getDabAnimation();
-            if (dab == null || !dab.getSeeing().contains(player)) return;
+            // Show/hide hologram.
+            if (bet.hasHologram() && bet.getHologram().isVisibleTo(player)) {
+                stands.addAll(bet.getHologram().getStands());
+            }
+        }
+
+        // Show/hide spin hologram stands.
+        if (game.isSpinningGlobal() || game.isPlaying(player)) {
+            stands.addAll(game.getSpinHologram().getStands());
+        }
+
+        // Show/hide selected stands.
+        PacketStand markerDollyOne = game.getMarkerDollyOne();
+        PacketStand markerDollyTwo = game.getMarkerDollyTwo();
+        if (markerDollyOne != null) stands.add(markerDollyOne);
+        if (markerDollyTwo != null) stands.add(markerDollyTwo);
 
+        // Show/hide money animation stands.
+        MoneyAnimation money = game.getMoneyAnimation();
+        if (money != null && money.getSeeing().contains(player)) {
+            stands.add(money.getMoneySlot());
+        }
+
+        // Show/hide dab animation stands.
+        DabAnimation dab = game.getDabAnimation();
+        if (dab != null && dab.getSeeing().contains(player)) {
             for (ArmorStandAnimator animator : dab.getAnimators().keySet()) {
-                handleStandRender(player, animator.getStand(), show);
+                stands.add(animator.getStand());
             }
-        });
+        }
     }
 
-    private void handleStandRender(Player player, @NotNull Collection<PacketStand> stands, boolean show) {
-        for (PacketStand stand : stands) {
-            handleStandRender(player, stand, show);
-        }
+    private boolean isFar(@NotNull PacketStand stand) {
+        return startsWithAny(stand, FAR_PARTS);
     }
 
-    private void handleStandRender(Player player, PacketStand stand, boolean show) {
-        if (show) {
-            stand.spawn(player);
-        } else {
-            stand.destroy(player);
+    private boolean isEssential(@NotNull PacketStand stand) {
+        return startsWithAny(stand, ESSENTIAL_PARTS);
+    }
+
+    private boolean startsWithAny(@NotNull PacketStand stand, @NotNull List<String> parts) {
+        String partName = stand.getSettings().getPartName();
+        if (partName == null) return false;
+
+        for (String part : parts) {
+            if (partName.startsWith(part)) return true;
         }
+        return false;
+    }
+
+    // The stands of a tier of a table, used to cancel the spawns of that tier only.
+    private record Layer(Game game, RenderTier tier) {
     }
 
     public enum HandleCause {
@@ -50,15 +50,22 @@ public final class WinnerManager implements Listener {
         MapView view = event.getMap();
 
         DataManager dataManager = plugin.getDataManager();
-        for (MapRecord record : dataManager.getMaps()) {
-            if (record.mapId() != view.getId()) continue;
 
-            RouletteSession session = dataManager.getSessionByUUID(record.sessionUUID());
-            if (session == null) break;
+        // Not a roulette map.
+        MapRecord record = dataManager.getMapById(view.getId());
+        if (record == null) return;
 
+        RouletteSession session = dataManager.getSessionByUUID(record.sessionUUID());
+        if (session != null) {
             render(record.playerUUID(), session, view);
-            break;
+            return;
         }
+
+        // The session may not be in memory, render once it's loaded.
+        dataManager.fetchSession(record.sessionUUID()).thenAccept(fetched -> {
+            if (fetched == null) return;
+            plugin.getServer().getScheduler().runTask(plugin, () -> render(record.playerUUID(), fetched, view));
+        });
     }
 
     public @Nullable Map.Entry<Integer, ItemStack> render(UUID playerUUID, RouletteSession session) {
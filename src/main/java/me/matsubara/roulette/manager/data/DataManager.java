@@ -1,6 +1,7 @@
 package me.matsubara.roulette.manager.data;
 
 import com.google.common.base.Predicates;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import lombok.Getter;
 import me.matsubara.roulette.RoulettePlugin;
 import me.matsubara.roulette.file.Config;
@@ -8,108 +9,269 @@ import me.matsubara.roulette.game.GameType;
 import me.matsubara.roulette.game.data.Bet;
 import me.matsubara.roulette.game.data.Slot;
 import me.matsubara.roulette.game.data.WinData;
-import me.matsubara.roulette.util.PluginUtils;
+import me.matsubara.roulette.manager.data.store.MySQLSessionStore;
+import me.matsubara.roulette.manager.data.store.SQLiteSessionStore;
+import me.matsubara.roulette.manager.data.store.SessionStore;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
-import java.sql.*;
+import java.sql.SQLException;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 public class DataManager {
 
     private final RoulettePlugin plugin;
-    private final File databaseFile;
-    private final @Getter List<RouletteSession> sessions = new ArrayList<>();
-    private final @Getter List<MapRecord> maps = new ArrayList<>();
-    private final ExecutorService executor = Executors.newFixedThreadPool(4);
-    private final Map<UUID, PlayerStats> stats = new ConcurrentHashMap<>();
+    // How much the wins pay, used for the stats.
+    private final Payout payout;
+    // The sessions and maps in memory, safe to read from any thread.
+    private final @Getter SessionRepository repository = new SessionRepository();
+    // Aggregated wins of every player, updated along with the sessions (replaced when rebuilt).
+    private volatile Map<UUID, PlayerStats> stats = new ConcurrentHashMap<>();
+    // The changes to the stats while they're rebuilt in the database thread, applied to the new ones once built.
+    private @Nullable List<Consumer<Map<UUID, PlayerStats>>> rebuildChanges;
+    private final Object statsLock = new Object();
+    // False while the rebuild flushes the journal, the wins trimmed by then are already missing when it reads the database.
+    private boolean recordTrims = true;
+
+    // If not -1, only the newest sessions are kept in memory; older pages are fetched when needed.
+    private final int hotWindow;
+    private volatile int sessionCount;
+    private final AtomicInteger pageCacheVersion = new AtomicInteger();
+    private final Map<Integer, List<RouletteSession>> pageCache = Collections.synchronizedMap(new LinkedHashMap<Integer, List<RouletteSession>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<RouletteSession>> eldest) {
+            return size() > PAGE_CACHE_SIZE;
+        }
+    });
+
+    // The store isn't thread-safe, so every operation must run on the same thread.
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("roulette-database-thread")
+            .build());
+
+    // Where the sessions are saved.
+    private final SessionStore store;
+
+    // The changes waiting to be written, committed together every flush interval.
+    private final WriteJournal journal;
+
+    private static final int SESSIONS_PROGRESS_THRESHOLD = 10000;
+    private static final int PAGE_CACHE_SIZE = 16;
+    private static final int FLUSH_THRESHOLD = 500;
 
     public DataManager(@NotNull RoulettePlugin plugin) {
         this.plugin = plugin;
-        this.databaseFile = new File(plugin.getDataFolder(), "data.db");
-        // Create tables and fill sessions.
+        this.payout = plugin::getExpectedMoney;
+
+        int window = Config.SESSIONS_HOT_WINDOW.asInt();
+        this.hotWindow = window <= 0 ? -1 : Math.max(window, 7);
+
+        this.store = createStore();
+        this.journal = new WriteJournal(new File(plugin.getDataFolder(), "journal"), plugin.getLogger());
+
+        // Create tables, apply the changes of the previous run and fill sessions.
         CompletableFuture.runAsync(() -> {
             initTables();
+            replayJournal();
             initSessions();
             initMaps();
         }, executor);
+
+        long interval = Math.max(50L, Config.DATABASE_FLUSH_INTERVAL.asLong());
+        executor.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
     }
 
-    private Connection getConnection() throws SQLException {
-        Connection connection = DriverManager.getConnection("jdbc:sqlite:" + databaseFile.getPath());
-        try (Statement statement = connection.createStatement()) {
-            statement.execute("PRAGMA foreign_keys = ON;");
+    private @NotNull SessionStore createStore() {
+        String type = Config.DATABASE_TYPE.asString("SQLITE").toUpperCase(Locale.ROOT);
+        if (type.equals("MYSQL")) return new MySQLSessionStore(plugin);
+
+        if (!type.equals("SQLITE")) {
+            plugin.getLogger().warning("Invalid database type {" + type + "}, using SQLITE.");
         }
-        return connection;
+        return new SQLiteSessionStore(plugin, new File(plugin.getDataFolder(), "data.db"));
     }
 
-    private void initTables() {
-        try (Connection connection = getConnection(); Statement statement = connection.createStatement()) {
-            // Create a table of roulette sessions.
-            statement.executeUpdate("CREATE TABLE IF NOT EXISTS roulette_sessions (" +
-                    "roulette_session_uuid BLOB PRIMARY KEY," +
-                    "roulette_table_name TEXT NOT NULL," +
-                    "winning_slot TEXT NOT NULL," +
-                    "game_type TEXT NOT NULL," +
-                    "session_date BIGINT NOT NULL" +
-                    ");");
-
-            // Add new columns since the creation of the database.
-            ensureColumn(connection, "roulette_sessions", "game_type", "AMERICAN");
-
-            // Create a table of player results.
-            statement.executeUpdate("CREATE TABLE IF NOT EXISTS player_results (" +
-                    "player_uuid BLOB NOT NULL," +
-                    "roulette_session_uuid BLOB NOT NULL," +
-                    "win TEXT NOT NULL," +
-                    "money_involved INTEGER NOT NULL," +
-                    "player_slot TEXT NOT NULL," +
-                    "FOREIGN KEY(roulette_session_uuid) REFERENCES roulette_sessions(roulette_session_uuid) ON DELETE CASCADE" +
-                    ");");
-
-            // Create a table of map ids.
-            statement.executeUpdate("CREATE TABLE IF NOT EXISTS roulette_maps (" +
-                    "map_id INTEGER NOT NULL," +
-                    "player_uuid BLOB NOT NULL," +
-                    "roulette_session_uuid BLOB NOT NULL," +
-                    "FOREIGN KEY(roulette_session_uuid) REFERENCES roulette_sessions(roulette_session_uuid) ON DELETE CASCADE" +
-                    ");");
+    private boolean runTransaction(@NotNull SessionStore.SQLRunnable runnable) {
+        try {
+            store.transaction(runnable);
+            return true;
         } catch (SQLException exception) {
             exception.printStackTrace();
+            return false;
+        }
+    }
+
+    private void enqueue(@NotNull Mutation mutation) {
+        // Don't wait for the next interval if too many changes are pending.
+        if (journal.append(mutation) == FLUSH_THRESHOLD && !executor.isShutdown()) {
+            executor.execute(this::flush);
+        }
+    }
+
+    private void flush() {
+        flush(journal.drain());
+    }
+
+    private void flush(@Nullable WriteJournal.Batch batch) {
+        // An exception would cancel the scheduled flush.
+        try {
+            if (batch == null) return;
+
+            // Keep the journal if something failed, so it's applied again on the next start.
+            if (applyAll(batch.mutations())) journal.complete(batch);
+            if (hotWindow != -1) sessionCount = countSessions();
+        } catch (RuntimeException exception) {
+            exception.printStackTrace();
         }
     }
 
-    @SuppressWarnings("SameParameterValue")
-    private void ensureColumn(Connection connection, String table, String column, String defaultValue) throws SQLException {
-        try (ResultSet result = connection.getMetaData().getColumns(null, null, table, column)) {
-            if (result.next()) return;
+    private void replayJournal() {
+        WriteJournal.Batch batch = journal.replay();
+        if (batch == null) return;
 
-            try (Statement statement = connection.createStatement()) {
-                statement.executeUpdate("ALTER TABLE " + table + " ADD COLUMN " + column + " TEXT NOT NULL DEFAULT '" + defaultValue + "'");
-                plugin.getLogger().info("Column '" + column + "' not found on table {" + table + "}, creating it!");
+        plugin.getLogger().info("Applying " + batch.mutations().size() + " pending change(s) of the database journal...");
+        // Keep the files if something failed, so they're applied again on the next start.
+        if (applyAll(batch.mutations())) {
+            journal.complete(batch);
+        } else {
+            plugin.getLogger().warning("Some changes of the database journal couldn't be applied, they'll be retried on the next start.");
+        }
+    }
+
+    private boolean applyAll(@NotNull List<Mutation> batch) {
+        List<Mutation> mutations = coalesce(batch);
+
+        // All the changes are committed at once.
+        if (runTransaction(() -> {
+            for (Mutation mutation : mutations) {
+                apply(mutation);
             }
+        })) return true;
+
+        // Something went wrong, apply them one by one so only the invalid ones are lost.
+        boolean success = true;
+        for (Mutation mutation : mutations) {
+            if (runTransaction(() -> apply(mutation))) continue;
+            plugin.getLogger().warning("Couldn't apply a database change: " + mutation.serialize());
+            success = false;
         }
+        return success;
     }
 
-    public CompletableFuture<RouletteSession> saveSession(@NotNull UUID sessionUUID, String name, Collection<Map.Entry<Player, Bet>> bets, @NotNull Slot slot, GameType type, long timestamp) {
-        RouletteSession session = new RouletteSession(sessionUUID, name, slot, type, timestamp, bets);
-        sessions.add(session);
-        sort();
+    private @NotNull List<Mutation> coalesce(@NotNull List<Mutation> mutations) {
+        // Sessions saved and removed in the same batch never need to reach the database.
+        Set<UUID> saved = new HashSet<>(), discarded = new HashSet<>();
+        int lastTrim = -1;
+        for (int i = 0; i < mutations.size(); i++) {
+            Mutation mutation = mutations.get(i);
+            if (mutation instanceof Mutation.SaveSession) {
+                saved.add(mutation.sessionUUID());
+            } else if (mutation instanceof Mutation.RemoveSession && saved.contains(mutation.sessionUUID())) {
+                discarded.add(mutation.sessionUUID());
+            } else if (mutation instanceof Mutation.TrimSessions) {
+                lastTrim = i;
+            }
+        }
+
+        List<Mutation> result = new ArrayList<>(mutations.size());
+        for (int i = 0; i < mutations.size(); i++) {
+            Mutation mutation = mutations.get(i);
 
-        List<RouletteSession> last = handleLimit();
+            // Trimming once, after every insert, is enough.
+            if (mutation instanceof Mutation.TrimSessions && i != lastTrim) continue;
 
-        // Save session and results async.
-        return CompletableFuture.supplyAsync(() -> {
+            if (mutation instanceof Mutation.SaveMaps save && !discarded.isEmpty()) {
+                List<MapRecord> maps = save.maps().stream()
+                        .filter(map -> !discarded.contains(map.sessionUUID()))
+                        .toList();
+                if (!maps.isEmpty()) result.add(new Mutation.SaveMaps(maps));
+                continue;
+            }
+
+            UUID sessionUUID = mutation.sessionUUID();
+            if (sessionUUID == null || !discarded.contains(sessionUUID)) result.add(mutation);
+        }
+        return result;
+    }
+
+    private void apply(Mutation mutation) throws SQLException {
+        if (mutation instanceof Mutation.SaveSession save) {
+            store.saveSession(save.session());
+        } else if (mutation instanceof Mutation.SaveMaps save) {
+            store.saveMaps(save.maps());
+        } else if (mutation instanceof Mutation.RemoveResult remove) {
+            store.deleteResult(remove.playerUUID(), remove.sessionUUID(), remove.slot());
+        } else if (mutation instanceof Mutation.RemoveSession remove) {
+            store.deleteSession(remove.sessionUUID());
+        } else if (mutation instanceof Mutation.RemoveMap remove) {
+            store.deleteMap(remove.playerUUID(), remove.sessionUUID());
+        } else if (mutation instanceof Mutation.TrimSessions) {
+            trimSessions();
+        }
+    }
+
+    public void close() {
+        // The periodic flush is cancelled on shutdown, so write what's left one last time.
+        if (!executor.isShutdown()) executor.execute(this::flush);
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10L, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("The database tasks took too long to finish, some changes may have been lost.");
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+
+        journal.close();
+        store.close();
+    }
+
+    private void initTables() {
+        try {
+            store.init();
+        } catch (SQLException exception) {
+            exception.printStackTrace();
+        }
+    }
+
+    public CompletableFuture<RouletteSession> saveSession(@NotNull UUID sessionUUID, String name, Collection<Map.Entry<Player, Bet>> bets, @NotNull Slot slot, GameType type, long timestamp, @Nullable String seed, List<Slot> disabled) {
+        RouletteSession session = new RouletteSession(sessionUUID, name, slot, type, timestamp, seed, disabled, bets);
+
+        // The stats and the journal must change together, in case the stats are being rebuilt.
+        synchronized (statsLock) {
             saveSession(session);
-            if (last != null) last.forEach(this::removeSession);
-            return session;
-        }, executor);
+        }
+
+        return CompletableFuture.completedFuture(session);
+    }
+
+    private void saveSession(@NotNull RouletteSession session) {
+        repository.addSession(session);
+        session.results().forEach(this::indexResult);
+
+        List<RouletteSession> last = handleLimit();
+
+        // Older sessions are only kept in the database.
+        if (hotWindow != -1) {
+            repository.getOldest(repository.size() - hotWindow).forEach(repository::removeSession);
+        }
+
+        invalidatePages();
+
+        // Queue the session and results, they're written in the next flush.
+        enqueue(new Mutation.SaveSession(session));
+        if (last != null) last.forEach(temp -> enqueue(new Mutation.RemoveSession(temp.sessionUUID())));
+        if (hotWindow != -1) enqueue(new Mutation.TrimSessions());
     }
 
     private int getLimit() {
@@ -118,12 +280,21 @@ public class DataManager {
     }
 
     private @Nullable List<RouletteSession> handleLimit() {
-        int limit = getLimit(), size = sessions.size(), excess = size - limit;
-        if (limit == -1 || sessions.isEmpty() || size <= limit) return null;
+        int limit = getLimit(), excess = repository.size() - limit;
+        if (limit == -1 || excess <= 0) return null;
 
-        List<RouletteSession> last = new ArrayList<>(sessions.subList(Math.max(0, size - excess), size));
+        List<RouletteSession> last = repository.getOldest(excess);
         if (!Config.SESSIONS_KEEP_VICTORIES.asBool()) {
-            sessions.removeAll(last);
+            last.forEach(session -> {
+                repository.removeSession(session);
+                session.results().forEach(this::unindexResult);
+            });
+
+            // The maps of these sessions are removed along with them.
+            Set<UUID> removed = last.stream()
+                    .map(RouletteSession::sessionUUID)
+                    .collect(Collectors.toSet());
+            repository.removeMaps(map -> removed.contains(map.sessionUUID()));
             return last;
         }
 
@@ -139,194 +310,329 @@ public class DataManager {
         return null;
     }
 
-    private void saveSession(@NotNull RouletteSession session) {
-        String sql = "INSERT INTO roulette_sessions (roulette_session_uuid, roulette_table_name, winning_slot, game_type, session_date) VALUES (?, ?, ?, ?, ?);";
-        try (Connection connection = getConnection(); PreparedStatement statement = connection.prepareStatement(sql)) {
-            statement.setBytes(1, PluginUtils.toBytes(session.sessionUUID()));
-            statement.setString(2, session.name());
-            statement.setString(3, session.slot().name());
-            statement.setString(4, session.type().name());
-            statement.setLong(5, session.timestamp());
-            statement.executeUpdate();
-
-            // After saving session, save results.
-            session.results().forEach(this::savePlayerResults);
-        } catch (SQLException exception) {
-            exception.printStackTrace();
-        }
+    private void trimSessions() throws SQLException {
+        // Same as handleLimit(), but for the sessions that are only in the database.
+        int limit = getLimit();
+        if (limit == -1) return;
+
+        // The removed wins no longer count for the stats.
+        store.trimSessions(limit, Config.SESSIONS_KEEP_VICTORIES.asBool(), (playerUUID, win, money, slot, type) -> {
+            double expected = payout.getMoney(type, money, slot, win);
+
+            // Locked per win, so the main thread isn't kept waiting for the database (see saveSession/remove).
+            synchronized (statsLock) {
+                index(stats, playerUUID, win, expected, false);
+
+                List<Consumer<Map<UUID, PlayerStats>>> changes = rebuildChanges;
+                if (changes != null && recordTrims) changes.add(stats -> index(stats, playerUUID, win, expected, false));
+            }
+        });
     }
 
-    private void savePlayerResults(@NotNull PlayerResult result) {
-        String sql = "INSERT INTO player_results (player_uuid, roulette_session_uuid, win, money_involved, player_slot) VALUES (?, ?, ?, ?, ?)";
-        WinData.WinType win = result.win();
-        try (Connection connection = getConnection(); PreparedStatement statement = connection.prepareStatement(sql)) {
-            statement.setBytes(1, PluginUtils.toBytes(result.playerUUID()));
-            statement.setBytes(2, PluginUtils.toBytes(result.sessionUUID()));
-            statement.setString(3, win != null ? win.name() : "DEFEAT");
-            statement.setInt(4, (int) (result.money() * 100));
-            statement.setString(5, result.slot().name());
-            statement.executeUpdate();
-        } catch (SQLException exception) {
-            exception.printStackTrace();
+    public void remove(@NotNull PlayerResult result) {
+        synchronized (statsLock) {
+            removeResult(result);
         }
     }
 
-    public void remove(@NotNull PlayerResult result) {
+    private void removeResult(@NotNull PlayerResult result) {
         RouletteSession session = result.session();
 
         List<PlayerResult> results = session.results();
         if (!results.contains(result)) return;
 
         results.remove(result);
+        unindexResult(result);
+        invalidatePages();
 
-        // Remove result async.
-        CompletableFuture<Void> future = CompletableFuture.runAsync(() -> removePlayerResult(result), executor);
+        // Since the player can only make 1 bet on a slot, we don't need an ID.
+        enqueue(new Mutation.RemoveResult(result.playerUUID(), result.sessionUUID(), result.slot()));
         if (!results.isEmpty()) {
             if (results.stream()
                     .filter(temp -> temp.playerUUID().equals(result.playerUUID()))
                     .anyMatch(PlayerResult::won)) return;
-            removeMap(new MapRecord(0, result.playerUUID(), result.sessionUUID()));
+            repository.removeMaps(map -> map.playerUUID().equals(result.playerUUID()) && map.sessionUUID().equals(result.sessionUUID()));
+            enqueue(new Mutation.RemoveMap(result.playerUUID(), result.sessionUUID()));
             return;
         }
 
         // If the session doesn't have any result, then we want to remove the whole session.
-        sessions.remove(session);
-
-        // Remove sesion async.
-        future.thenRunAsync(() -> removeSession(session), executor);
+        repository.removeSession(session);
+        repository.removeMaps(map -> map.sessionUUID().equals(session.sessionUUID()));
+        enqueue(new Mutation.RemoveSession(session.sessionUUID()));
     }
 
-    private void removeSession(@NotNull RouletteSession session) {
-        // Since the player can only make 1 bet on a slot, we don't need an ID.
-        String sql = "DELETE FROM roulette_sessions WHERE roulette_session_uuid = ?;";
-        try (Connection connection = getConnection(); PreparedStatement statement = connection.prepareStatement(sql)) {
-            statement.setBytes(1, PluginUtils.toBytes(session.sessionUUID()));
-            statement.executeUpdate();
-        } catch (SQLException exception) {
-            exception.printStackTrace();
+    public RouletteSession getSessionByUUID(UUID uuid) {
+        RouletteSession session = repository.getSession(uuid);
+        if (session != null) return session;
+
+        // The session may be in a page fetched from the database.
+        synchronized (pageCache) {
+            for (List<RouletteSession> page : pageCache.values()) {
+                for (RouletteSession temp : page) {
+                    if (temp.sessionUUID().equals(uuid)) return temp;
+                }
+            }
         }
+
+        return null;
     }
 
-    private void removePlayerResult(@NotNull PlayerResult result) {
-        // Since the player can only make 1 bet on a slot, we don't need an ID.
-        String sql = "DELETE FROM player_results WHERE player_uuid = ? AND roulette_session_uuid = ? AND player_slot = ?;";
-        try (Connection connection = getConnection(); PreparedStatement statement = connection.prepareStatement(sql)) {
-            statement.setBytes(1, PluginUtils.toBytes(result.playerUUID()));
-            statement.setBytes(2, PluginUtils.toBytes(result.sessionUUID()));
-            statement.setString(3, result.slot().name());
-            statement.executeUpdate();
-        } catch (SQLException exception) {
-            exception.printStackTrace();
+    public CompletableFuture<RouletteSession> fetchSession(UUID uuid) {
+        RouletteSession session = getSessionByUUID(uuid);
+        if (session != null || hotWindow == -1) return CompletableFuture.completedFuture(session);
+
+        return CompletableFuture.supplyAsync(() -> {
+            // The session may still be pending.
+            flush();
+
+            try {
+                return store.loadSession(uuid);
+            } catch (SQLException exception) {
+                exception.printStackTrace();
+                return null;
+            }
+        }, executor);
+    }
+
+    public CompletableFuture<RouletteSession> fetchSessionBySeed(String seed) {
+        for (RouletteSession session : repository.getSessions()) {
+            if (seed.equals(session.seed())) return CompletableFuture.completedFuture(session);
         }
+        if (hotWindow == -1) return CompletableFuture.completedFuture(null);
+
+        return CompletableFuture.supplyAsync(() -> {
+            // The session may still be pending.
+            flush();
+
+            try {
+                return store.loadSessionBySeed(seed);
+            } catch (SQLException exception) {
+                exception.printStackTrace();
+                return null;
+            }
+        }, executor);
     }
 
-    public RouletteSession getSessionByUUID(UUID uuid) {
-        for (RouletteSession session : sessions) {
-            if (session.sessionUUID().equals(uuid)) return session;
+    public int getSessionCount() {
+        return hotWindow == -1 ? repository.size() : Math.max(sessionCount, repository.size());
+    }
+
+    public CompletableFuture<List<RouletteSession>> getSessionsPage(int page, int size) {
+        int from = page * size, resident = repository.size();
+
+        // The whole page is in memory.
+        if (hotWindow == -1 || from + size <= resident || getSessionCount() <= resident) {
+            return CompletableFuture.completedFuture(repository.slice(from, size));
         }
-        return null;
+
+        List<RouletteSession> cached = pageCache.get(page);
+        if (cached != null) return CompletableFuture.completedFuture(cached);
+
+        // The beginning of the page may still be in memory.
+        List<RouletteSession> head = from < resident ? repository.slice(from, size) : Collections.emptyList();
+
+        // The last session before this page, used as the key for the next ones.
+        RouletteSession after = from == 0 ? null : from <= resident ? repository.slice(from - 1, 1).get(0) : getLastOfPage(page - 1, size);
+        int offset = from + head.size(), limit = size - head.size(), version = pageCacheVersion.get();
+
+        return CompletableFuture.supplyAsync(() -> {
+            // The database must be up to date, or the offsets won't match.
+            flush();
+
+            List<RouletteSession> result = new ArrayList<>(head);
+            try {
+                result.addAll(store.loadSessions(after, offset, limit));
+            } catch (SQLException exception) {
+                exception.printStackTrace();
+            }
+
+            // Don't cache the page if the sessions changed in the meantime.
+            if (version == pageCacheVersion.get()) pageCache.put(page, result);
+            return result;
+        }, executor);
+    }
+
+    private @Nullable RouletteSession getLastOfPage(int page, int size) {
+        List<RouletteSession> previous = pageCache.get(page);
+        return previous != null && previous.size() == size ? previous.get(size - 1) : null;
+    }
+
+    private void invalidatePages() {
+        pageCacheVersion.incrementAndGet();
+        pageCache.clear();
     }
 
     private void initSessions() {
-        String sql = "SELECT * FROM roulette_sessions;";
-        try (Connection connection = getConnection(); PreparedStatement statement = connection.prepareStatement(sql)) {
-            ResultSet set = statement.executeQuery();
-            while (set.next()) {
-                RouletteSession session = new RouletteSession(
-                        PluginUtils.toUUID(set.getBytes("roulette_session_uuid")),
-                        set.getString("roulette_table_name"),
-                        PluginUtils.getOrDefault(Slot.class, set.getString("winning_slot"), Slot.SLOT_0),
-                        PluginUtils.getOrDefault(GameType.class, set.getString("game_type"), GameType.AMERICAN),
-                        set.getLong("session_date"));
-                session.results().addAll(getPlayerResultsBySession(session, connection));
-                sessions.add(session);
-            }
+        long start = System.currentTimeMillis();
+        int total = countSessions(), step = Math.max(1, total / 10);
+        boolean windowed = hotWindow != -1, progress = !windowed && total >= SESSIONS_PROGRESS_THRESHOLD;
+
+        sessionCount = total;
+
+        List<RouletteSession> loaded = new ArrayList<>(windowed ? hotWindow : total);
+        try {
+            // Every session (or only the newest ones) with its results, in a single ordered pass.
+            store.loadSessions(hotWindow, session -> {
+                loaded.add(session);
+                if (!windowed) session.results().forEach(this::indexResult);
+
+                int count = loaded.size();
+                if (progress && count % step == 0) {
+                    plugin.getLogger().info("Loading sessions... " + (count * 100 / total) + "% (" + count + "/" + total + ")");
+                }
+            });
         } catch (SQLException exception) {
             exception.printStackTrace();
         }
 
-        sort();
+        // Added in a single batch, instead of taking the lock for every session.
+        repository.addSessions(loaded);
+
+        // The stats must include the sessions that aren't in memory.
+        if (windowed) initStats(stats);
+
+        if (progress) {
+            plugin.getLogger().info("Loaded " + loaded.size() + " sessions in " + (System.currentTimeMillis() - start) + "ms.");
+        }
     }
 
-    private void sort() {
-        // Sort from new to old.
-        sessions.sort((first, second) -> Long.compare(second.timestamp(), first.timestamp()));
+    private int countSessions() {
+        try {
+            return store.countSessions();
+        } catch (SQLException exception) {
+            exception.printStackTrace();
+            return 0;
+        }
     }
 
-    private @NotNull List<PlayerResult> getPlayerResultsBySession(@NotNull RouletteSession session, Connection connection) {
-        List<PlayerResult> results = new ArrayList<>();
+    public void saveMaps(@NotNull List<MapRecord> maps) {
+        repository.addMaps(maps);
 
-        String sql = "SELECT * FROM player_results WHERE roulette_session_uuid = ?;";
-        try (PreparedStatement statement = connection.prepareStatement(sql)) {
-            UUID sessionUUID = session.sessionUUID();
-            statement.setBytes(1, PluginUtils.toBytes(sessionUUID));
+        // Queued after the session, so it already exists when these are written.
+        enqueue(new Mutation.SaveMaps(List.copyOf(maps)));
+    }
 
-            ResultSet set = statement.executeQuery();
-            while (set.next()) {
-                results.add(new PlayerResult(
-                        session,
-                        PluginUtils.toUUID(set.getBytes("player_uuid")),
-                        sessionUUID,
-                        PluginUtils.getOrNull(WinData.WinType.class, set.getString("win")),
-                        set.getInt("money_involved") / 100.0d,
-                        PluginUtils.getOrNull(Slot.class, set.getString("player_slot"))));
-            }
+    private void initMaps() {
+        try {
+            List<MapRecord> maps = new ArrayList<>();
+            store.loadMaps(maps::add);
+            repository.addMaps(maps);
         } catch (SQLException exception) {
             exception.printStackTrace();
         }
+    }
 
-        return results;
+    public @Nullable MapRecord getMapById(int mapId) {
+        return repository.getMap(mapId);
     }
 
-    public void saveMaps(@NotNull List<MapRecord> maps) {
-        this.maps.addAll(maps);
+    public PlayerStats getStats(@NotNull Player player) {
+        return stats.computeIfAbsent(player.getUniqueId(), uuid -> new PlayerStats());
+    }
 
-        // Save maps async.
-        CompletableFuture.runAsync(() -> maps.forEach(this::saveMap), executor);
+    public void reloadStats() {
+        // The payouts depend on the config (custom multipliers), so we rebuild them from scratch.
+        if (hotWindow == -1) {
+            stats = buildStats(repository.getSessions(), payout);
+            return;
+        }
+
+        CompletableFuture.runAsync(this::rebuildStats, executor);
     }
 
-    private void saveMap(@NotNull MapRecord map) {
-        String sql = "INSERT INTO roulette_maps (map_id, player_uuid, roulette_session_uuid) VALUES (?, ?, ?)";
-        try (Connection connection = getConnection(); PreparedStatement statement = connection.prepareStatement(sql)) {
-            statement.setInt(1, map.mapId());
-            statement.setBytes(2, PluginUtils.toBytes(map.playerUUID()));
-            statement.setBytes(3, PluginUtils.toBytes(map.sessionUUID()));
-            statement.executeUpdate();
-        } catch (SQLException exception) {
-            exception.printStackTrace();
+    private void rebuildStats() {
+        // From now on, the changes are also recorded to be applied to the new stats.
+        WriteJournal.Batch batch;
+        synchronized (statsLock) {
+            batch = journal.drain();
+            rebuildChanges = new ArrayList<>();
+        }
+
+        // The database must include the pending sessions.
+        recordTrims = false;
+        try {
+            flush(batch);
+        } finally {
+            recordTrims = true;
+        }
+
+        Map<UUID, PlayerStats> stats = new ConcurrentHashMap<>();
+        initStats(stats);
+
+        synchronized (statsLock) {
+            List<Consumer<Map<UUID, PlayerStats>>> changes = rebuildChanges;
+            if (changes != null) changes.forEach(change -> change.accept(stats));
+            rebuildChanges = null;
+            this.stats = stats;
         }
     }
 
-    private void removeMap(@NotNull MapRecord map) {
-        String sql = "DELETE FROM roulette_maps WHERE player_uuid = ? AND roulette_session_uuid = ?;";
-        try (Connection connection = getConnection(); PreparedStatement statement = connection.prepareStatement(sql)) {
-            statement.setBytes(1, PluginUtils.toBytes(map.playerUUID()));
-            statement.setBytes(2, PluginUtils.toBytes(map.sessionUUID()));
-            statement.executeUpdate();
+    private void initStats(Map<UUID, PlayerStats> stats) {
+        try {
+            indexWins(store, stats, payout);
         } catch (SQLException exception) {
             exception.printStackTrace();
         }
     }
 
-    private void initMaps() {
-        String sql = "SELECT * FROM roulette_maps;";
-        try (Connection connection = getConnection(); PreparedStatement statement = connection.prepareStatement(sql)) {
-            ResultSet set = statement.executeQuery();
-            while (set.next()) {
-                maps.add(new MapRecord(
-                        set.getInt("map_id"),
-                        PluginUtils.toUUID(set.getBytes("player_uuid")),
-                        PluginUtils.toUUID(set.getBytes("roulette_session_uuid"))));
+    /**
+     * @return the stats of every player, built from the wins of the given sessions.
+     */
+    static @NotNull Map<UUID, PlayerStats> buildStats(@NotNull Collection<RouletteSession> sessions, Payout payout) {
+        Map<UUID, PlayerStats> stats = new ConcurrentHashMap<>();
+        for (RouletteSession session : sessions) {
+            for (PlayerResult result : session.results()) {
+                indexResult(stats, result, true, payout);
             }
-        } catch (SQLException exception) {
-            exception.printStackTrace();
         }
+        return stats;
     }
 
-    public PlayerStats getStats(@NotNull Player player) {
-        PlayerStats stats = this.stats.computeIfAbsent(player.getUniqueId(), uuid ->
-                new PlayerStats(plugin, player));
-        if (stats.isExpired()) stats.resetStats();
-        return stats;
+    /**
+     * Adds every win of the store to the stats.
+     */
+    static void indexWins(@NotNull SessionStore store, Map<UUID, PlayerStats> stats, Payout payout) throws SQLException {
+        store.loadWins((playerUUID, win, money, slot, type) ->
+                index(stats, playerUUID, win, payout.getMoney(type, money, slot, win), true));
+    }
+
+    private void indexResult(@NotNull PlayerResult result) {
+        indexResult(result, true);
+    }
+
+    private void unindexResult(@NotNull PlayerResult result) {
+        indexResult(result, false);
+    }
+
+    private void indexResult(@NotNull PlayerResult result, boolean add) {
+        indexResult(stats, result, add, payout);
+
+        // Also record the change if the stats are being rebuilt (always with the lock, see saveSession/remove).
+        List<Consumer<Map<UUID, PlayerStats>>> changes = rebuildChanges;
+        if (changes != null) changes.add(stats -> indexResult(stats, result, add, payout));
+    }
+
+    private static void indexResult(Map<UUID, PlayerStats> stats, @NotNull PlayerResult result, boolean add, @NotNull Payout payout) {
+        WinData.WinType win = result.win();
+        if (win != null) index(stats, result.playerUUID(), win, payout.getMoney(result.session().type(), result.money(), result.slot(), win), add);
+    }
+
+    private static void index(@NotNull Map<UUID, PlayerStats> stats, UUID playerUUID, WinData.WinType win, double money, boolean add) {
+        if (add) {
+            stats.computeIfAbsent(playerUUID, uuid -> new PlayerStats()).add(win, money);
+            return;
+        }
+
+        PlayerStats temp = stats.get(playerUUID);
+        if (temp != null) temp.remove(win, money);
+    }
+
+    /**
+     * Same as {@link RoulettePlugin#getExpectedMoney(GameType, double, Slot, WinData.WinType)}.
+     */
+    @FunctionalInterface
+    interface Payout {
+        double getMoney(GameType type, double price, Slot slot, WinData.WinType win);
     }
-}
\ No newline at end of file
+}
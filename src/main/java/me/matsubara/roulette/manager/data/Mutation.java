@@ -0,0 +1,184 @@
+package me.matsubara.roulette.manager.data;
+
+import me.matsubara.roulette.game.GameType;
+import me.matsubara.roulette.game.data.Slot;
+import me.matsubara.roulette.game.data.WinData;
+import me.matsubara.roulette.util.PluginUtils;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * A change to the database, queued by {@link DataManager} and written (as a single line) to the journal.
+ */
+public interface Mutation {
+
+    /**
+     * @return the session affected by this mutation, or null if none (or more than one).
+     */
+    @Nullable UUID sessionUUID();
+
+    /**
+     * @return this mutation as a single journal line.
+     */
+    @NotNull String serialize();
+
+    static @Nullable Mutation deserialize(@NotNull String line) {
+        String[] data = line.split("\\|", -1);
+        try {
+            return switch (data[0]) {
+                case "SAVE_SESSION" -> SaveSession.deserialize(data);
+                case "SAVE_MAPS" -> SaveMaps.deserialize(data);
+                case "REMOVE_RESULT" -> new RemoveResult(UUID.fromString(data[1]), UUID.fromString(data[2]), Slot.valueOf(data[3]));
+                case "REMOVE_SESSION" -> new RemoveSession(UUID.fromString(data[1]));
+                case "REMOVE_MAP" -> new RemoveMap(UUID.fromString(data[1]), UUID.fromString(data[2]));
+                case "TRIM_SESSIONS" -> new TrimSessions();
+                default -> null;
+            };
+        } catch (IllegalArgumentException | IndexOutOfBoundsException exception) {
+            return null;
+        }
+    }
+
+    record SaveSession(RouletteSession session) implements Mutation {
+
+        @Override
+        public UUID sessionUUID() {
+            return session.sessionUUID();
+        }
+
+        @Override
+        public @NotNull String serialize() {
+            String results = session.results().stream()
+                    .map(result -> String.join(",",
+                            result.playerUUID().toString(),
+                            result.win() != null ? result.win().name() : "DEFEAT",
+                            Double.toString(result.money()),
+                            result.slot().name()))
+                    .collect(Collectors.joining(";"));
+
+            return String.join("|",
+                    "SAVE_SESSION",
+                    session.sessionUUID().toString(),
+                    Base64.getEncoder().encodeToString(session.name().getBytes(StandardCharsets.UTF_8)),
+                    session.slot().name(),
+                    session.type().name(),
+                    String.valueOf(session.timestamp()),
+                    results,
+                    Objects.requireNonNullElse(session.seed(), ""),
+                    session.disabled().stream().map(Slot::name).collect(Collectors.joining(",")));
+        }
+
+        @Contract("_ -> new")
+        private static @NotNull SaveSession deserialize(String @NotNull [] data) {
+            // Lines written before the seeds were added don't have one (nor the disabled numbers of the round).
+            String seed = data.length > 7 && !data[7].isEmpty() ? data[7] : null;
+            List<Slot> disabled = data.length > 8 && !data[8].isEmpty() ? Arrays.stream(data[8].split(",")).map(Slot::valueOf).toList() : List.of();
+
+            RouletteSession session = new RouletteSession(
+                    UUID.fromString(data[1]),
+                    new String(Base64.getDecoder().decode(data[2]), StandardCharsets.UTF_8),
+                    Slot.valueOf(data[3]),
+                    GameType.valueOf(data[4]),
+                    Long.parseLong(data[5]),
+                    seed,
+                    disabled);
+
+            if (!data[6].isEmpty()) {
+                for (String result : data[6].split(";")) {
+                    String[] values = result.split(",");
+                    session.results().add(new PlayerResult(
+                            session,
+                            UUID.fromString(values[0]),
+                            PluginUtils.getOrNull(WinData.WinType.class, values[1]),
+                            parseMoney(values[2]),
+                            Slot.valueOf(values[3])));
+                }
+            }
+
+            return new SaveSession(session);
+        }
+
+        private static double parseMoney(@NotNull String money) {
+            // Older lines store the money as an integer amount of cents, Double#toString() always writes a decimal point or an exponent.
+            if (money.indexOf('.') == -1 && money.indexOf('E') == -1) {
+                return Long.parseLong(money) / 100.0d;
+            }
+            return Double.parseDouble(money);
+        }
+    }
+
+    record SaveMaps(List<MapRecord> maps) implements Mutation {
+
+        @Contract(pure = true)
+        @Override
+        public @Nullable UUID sessionUUID() {
+            return null;
+        }
+
+        @Override
+        public @NotNull String serialize() {
+            return "SAVE_MAPS|" + maps.stream()
+                    .map(map -> map.mapId() + "," + map.playerUUID() + "," + map.sessionUUID())
+                    .collect(Collectors.joining(";"));
+        }
+
+        @Contract("_ -> new")
+        private static @NotNull SaveMaps deserialize(String @NotNull [] data) {
+            List<MapRecord> maps = new ArrayList<>();
+            for (String map : data[1].split(";")) {
+                String[] values = map.split(",");
+                maps.add(new MapRecord(Integer.parseInt(values[0]), UUID.fromString(values[1]), UUID.fromString(values[2])));
+            }
+            return new SaveMaps(maps);
+        }
+    }
+
+    record RemoveResult(UUID playerUUID, UUID sessionUUID, Slot slot) implements Mutation {
+
+        @Override
+        public @NotNull String serialize() {
+            return "REMOVE_RESULT|" + playerUUID + "|" + sessionUUID + "|" + slot.name();
+        }
+    }
+
+    record RemoveSession(UUID sessionUUID) implements Mutation {
+
+        @Override
+        public @NotNull String serialize() {
+            return "REMOVE_SESSION|" + sessionUUID;
+        }
+    }
+
+    record RemoveMap(UUID playerUUID, UUID sessionUUID) implements Mutation {
+
+        @Override
+        public @NotNull String serialize() {
+            return "REMOVE_MAP|" + playerUUID + "|" + sessionUUID;
+        }
+    }
+
+    record TrimSessions() implements Mutation {
+
+        @Contract(pure = true)
+        @Override
+        public @Nullable UUID sessionUUID() {
+            return null;
+        }
+
+        @Contract(pure = true)
+        @Override
+        public @NotNull String serialize() {
+            return "TRIM_SESSIONS";
+        }
+    }
+}
@@ -3,25 +3,46 @@ package me.matsubara.roulette.manager.data;
 import me.matsubara.roulette.game.GameType;
 import me.matsubara.roulette.game.data.Bet;
 import me.matsubara.roulette.game.data.Chip;
+import me.matsubara.roulette.game.data.RoundSeed;
 import me.matsubara.roulette.game.data.Slot;
+import me.matsubara.roulette.game.data.SlotTopology;
 import me.matsubara.roulette.game.data.WinData;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public record RouletteSession(UUID sessionUUID, String name, List<PlayerResult> results, Slot slot, GameType type,
-                              long timestamp) {
+                              long timestamp, @Nullable String seed, List<Slot> disabled) {
 
-    public RouletteSession(UUID sessionUUID, String name, Slot slot, GameType type, long timestamp) {
-        this(sessionUUID, name, new ArrayList<>(), slot, type, timestamp);
+    // From new to old, then by UUID (compared as unsigned bytes, like the database does).
+    public static final Comparator<RouletteSession> NEWEST_FIRST = Comparator.comparingLong(RouletteSession::timestamp).reversed()
+            .thenComparing(RouletteSession::sessionUUID, (first, second) -> {
+                int compare = Long.compareUnsigned(first.getMostSignificantBits(), second.getMostSignificantBits());
+                return compare != 0 ? compare : Long.compareUnsigned(first.getLeastSignificantBits(), second.getLeastSignificantBits());
+            });
+
+    // The results can be removed while other threads read them (GUIs, placeholders, the database thread).
+    // The seed (and the numbers disabled in the round) are only present if the round was provably fair.
+    public RouletteSession(UUID sessionUUID, String name, Slot slot, GameType type, long timestamp, @Nullable String seed, List<Slot> disabled) {
+        this(sessionUUID, name, new CopyOnWriteArrayList<>(), slot, type, timestamp, seed, disabled);
     }
 
-    public RouletteSession(UUID sessionUUID, String name, Slot slot, GameType type, long timestamp, Collection<Map.Entry<Player, Bet>> bets) {
-        this(sessionUUID, name, new ArrayList<>(), slot, type, timestamp);
+    public RouletteSession(UUID sessionUUID, String name, Slot slot, GameType type, long timestamp, @Nullable String seed, List<Slot> disabled, Collection<Map.Entry<Player, Bet>> bets) {
+        this(sessionUUID, name, new CopyOnWriteArrayList<>(), slot, type, timestamp, seed, disabled);
         results.addAll(createResultsFromBets(bets));
     }
 
+    /**
+     * @return the winner derived from the seed, with the same numbers that could win in the round; null if the round wasn't provably fair.
+     */
+    public @Nullable Slot getSeedWinner() {
+        RoundSeed round = seed != null ? RoundSeed.fromHex(seed) : null;
+        return round != null ? round.pickWinner(new SlotTopology(type, disabled).getSingles()) : null;
+    }
+
     private @NotNull List<PlayerResult> createResultsFromBets(@NotNull Collection<Map.Entry<Player, Bet>> bets) {
         List<PlayerResult> results = new ArrayList<>();
 
@@ -0,0 +1,120 @@
+package me.matsubara.roulette.manager.data;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+
+/**
+ * The sessions and maps kept in memory, shared between the main thread and the database thread.
+ * <p>
+ * Changes are applied one at a time (under a lock), while reads never lock nor throw {@link ConcurrentModificationException}:
+ * sessions are iterated through a concurrent skip list, and maps through a copy-on-write list.
+ */
+public final class SessionRepository {
+
+    // Ordered from new to old, so inserting and removing the oldest sessions don't need a sort.
+    private final NavigableSet<RouletteSession> sessions = new ConcurrentSkipListSet<>(RouletteSession.NEWEST_FIRST);
+    private final List<MapRecord> maps = new CopyOnWriteArrayList<>();
+
+    // The same sessions and maps, indexed for the lookups by UUID and map id.
+    private final Map<UUID, RouletteSession> sessionsByUUID = new ConcurrentHashMap<>();
+    private final Map<Integer, MapRecord> mapsById = new ConcurrentHashMap<>();
+
+    // The size of the sessions, which can't be known without traversing them.
+    private volatile int size;
+
+    private final NavigableSet<RouletteSession> sessionsView = Collections.unmodifiableNavigableSet(sessions);
+    private final List<MapRecord> mapsView = Collections.unmodifiableList(maps);
+
+    /**
+     * @return a read-only view of the sessions, from new to old.
+     */
+    public NavigableSet<RouletteSession> getSessions() {
+        return sessionsView;
+    }
+
+    /**
+     * @return a read-only view of the maps.
+     */
+    public List<MapRecord> getMaps() {
+        return mapsView;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public @Nullable RouletteSession getSession(UUID sessionUUID) {
+        return sessionsByUUID.get(sessionUUID);
+    }
+
+    public @Nullable MapRecord getMap(int mapId) {
+        return mapsById.get(mapId);
+    }
+
+    /**
+     * @return up to {@code amount} of the oldest sessions, from old to new.
+     */
+    public @NotNull List<RouletteSession> getOldest(int amount) {
+        List<RouletteSession> oldest = new ArrayList<>(Math.max(0, amount));
+
+        Iterator<RouletteSession> iterator = sessions.descendingIterator();
+        while (oldest.size() < amount && iterator.hasNext()) {
+            oldest.add(iterator.next());
+        }
+
+        return oldest;
+    }
+
+    /**
+     * @return up to {@code amount} sessions, starting at the given position (from new to old).
+     */
+    public @NotNull List<RouletteSession> slice(int from, int amount) {
+        return sessions.stream()
+                .skip(from)
+                .limit(amount)
+                .toList();
+    }
+
+    public synchronized boolean addSession(@NotNull RouletteSession session) {
+        if (!sessions.add(session)) return false;
+        sessionsByUUID.put(session.sessionUUID(), session);
+        size++;
+        return true;
+    }
+
+    /**
+     * Adds all the given sessions (like the ones loaded from the database) at once.
+     */
+    public synchronized void addSessions(@NotNull Collection<RouletteSession> sessions) {
+        for (RouletteSession session : sessions) {
+            addSession(session);
+        }
+    }
+
+    public synchronized boolean removeSession(@NotNull RouletteSession session) {
+        if (!sessions.remove(session)) return false;
+        sessionsByUUID.remove(session.sessionUUID());
+        size--;
+        return true;
+    }
+
+    public synchronized void addMaps(@NotNull Collection<MapRecord> maps) {
+        // A single copy of the list for the whole batch.
+        this.maps.addAll(maps);
+        maps.forEach(map -> mapsById.put(map.mapId(), map));
+    }
+
+    public synchronized void removeMaps(@NotNull Predicate<MapRecord> filter) {
+        maps.removeIf(map -> {
+            if (!filter.test(map)) return false;
+            mapsById.remove(map.mapId());
+            return true;
+        });
+    }
+}
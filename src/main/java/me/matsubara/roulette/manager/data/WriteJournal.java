@@ -0,0 +1,151 @@
+package me.matsubara.roulette.manager.data;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The mutations waiting to be written to the database, also appended to a journal file so they can be replayed if the server stops before.
+ * <p>
+ * Every drained batch gets its own file (a generation), which is deleted once the batch is committed.
+ */
+final class WriteJournal {
+
+    private final File folder;
+    private final Logger logger;
+
+    // The files left by a previous run, in the order they were written.
+    private final List<File> leftover = new ArrayList<>();
+
+    private List<Mutation> pending = new ArrayList<>();
+    private int generation;
+    private @Nullable File file;
+    private @Nullable BufferedWriter writer;
+
+    private static final String EXTENSION = ".log";
+
+    WriteJournal(@NotNull File folder, Logger logger) {
+        this.folder = folder;
+        this.logger = logger;
+
+        File[] files = folder.listFiles((dir, name) -> name.endsWith(EXTENSION) && getGeneration(name) != -1);
+        if (files != null) {
+            Arrays.sort(files, Comparator.comparingInt(temp -> getGeneration(temp.getName())));
+            leftover.addAll(Arrays.asList(files));
+            if (files.length > 0) generation = getGeneration(files[files.length - 1].getName()) + 1;
+        }
+    }
+
+    private int getGeneration(@NotNull String name) {
+        try {
+            return Integer.parseInt(name.substring(0, name.length() - EXTENSION.length()));
+        } catch (NumberFormatException exception) {
+            return -1;
+        }
+    }
+
+    /**
+     * @return the amount of pending mutations, including the new one.
+     */
+    synchronized int append(@NotNull Mutation mutation) {
+        pending.add(mutation);
+
+        try {
+            if (writer == null) {
+                if (!folder.exists() && !folder.mkdirs()) throw new IOException("Couldn't create " + folder.getPath());
+                file = new File(folder, generation + EXTENSION);
+                writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+
+            writer.write(mutation.serialize());
+            writer.newLine();
+            writer.flush();
+        } catch (IOException exception) {
+            logger.log(Level.WARNING, "Couldn't write to the database journal, this change will be lost if the server crashes.", exception);
+        }
+
+        return pending.size();
+    }
+
+    /**
+     * @return the pending mutations (or null if none), new mutations will go to the next generation.
+     */
+    synchronized @Nullable Batch drain() {
+        if (pending.isEmpty()) return null;
+
+        Batch batch = new Batch(pending, file != null ? List.of(file) : Collections.emptyList());
+        pending = new ArrayList<>();
+
+        closeWriter();
+        file = null;
+        generation++;
+
+        return batch;
+    }
+
+    /**
+     * @return the mutations of the previous run that never reached the database, or null if none.
+     */
+    @Nullable Batch replay() {
+        if (leftover.isEmpty()) return null;
+
+        List<Mutation> mutations = new ArrayList<>();
+        for (File file : leftover) {
+            try {
+                for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+                    // The last line may be incomplete if the server crashed while writing it.
+                    if (line.isEmpty()) continue;
+
+                    Mutation mutation = Mutation.deserialize(line);
+                    if (mutation != null) {
+                        mutations.add(mutation);
+                    } else {
+                        logger.warning("Ignoring invalid line of the database journal {" + file.getName() + "}: " + line);
+                    }
+                }
+            } catch (IOException exception) {
+                logger.log(Level.WARNING, "Couldn't read the database journal {" + file.getName() + "}.", exception);
+            }
+        }
+
+        Batch batch = new Batch(mutations, List.copyOf(leftover));
+        leftover.clear();
+        return batch;
+    }
+
+    void complete(@NotNull Batch batch) {
+        for (File file : batch.files()) {
+            try {
+                Files.deleteIfExists(file.toPath());
+            } catch (IOException exception) {
+                logger.log(Level.WARNING, "Couldn't delete the database journal {" + file.getName() + "}.", exception);
+            }
+        }
+    }
+
+    synchronized void close() {
+        closeWriter();
+    }
+
+    private void closeWriter() {
+        if (writer == null) return;
+        try {
+            writer.close();
+        } catch (IOException exception) {
+            exception.printStackTrace();
+        }
+        writer = null;
+    }
+
+    record Batch(List<Mutation> mutations, List<File> files) {
+    }
+}
@@ -0,0 +1,16 @@
+package me.matsubara.roulette.manager.data.store;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * A change to the schema, applied once (in order of version) and recorded in the schema_version table.
+ */
+public record Migration(int version, String description, Step step) {
+
+    @FunctionalInterface
+    public interface Step {
+        void apply(Connection connection, Statement statement) throws SQLException;
+    }
+}
@@ -0,0 +1,114 @@
+package me.matsubara.roulette.manager.data.store;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import me.matsubara.roulette.RoulettePlugin;
+import me.matsubara.roulette.file.Config;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.logging.Logger;
+
+/**
+ * A store in a MySQL (or compatible, like MariaDB or H2 in MySQL mode) server, using a pool of connections.
+ */
+public final class MySQLSessionStore extends SQLSessionStore {
+
+    private final HikariDataSource source;
+
+    public MySQLSessionStore(@NotNull RoulettePlugin plugin) {
+        this(plugin.getLogger(), createConfig());
+    }
+
+    MySQLSessionStore(Logger logger, HikariConfig config) {
+        super(logger);
+        this.source = new HikariDataSource(config);
+    }
+
+    private static @NotNull HikariConfig createConfig() {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("roulette-pool");
+        config.setJdbcUrl(Config.DATABASE_MYSQL_URL.asString());
+        config.setUsername(Config.DATABASE_MYSQL_USERNAME.asString());
+        config.setPassword(Config.DATABASE_MYSQL_PASSWORD.asString());
+        config.setMaximumPoolSize(Math.max(1, Config.DATABASE_MYSQL_POOL_SIZE.asInt()));
+
+        String driver = Config.DATABASE_MYSQL_DRIVER.asString("");
+        if (!driver.isEmpty()) config.setDriverClassName(driver);
+
+        // Don't connect until the database thread needs it.
+        config.setInitializationFailTimeout(-1L);
+
+        config.addDataSourceProperty("cachePrepStmts", "true");
+        config.addDataSourceProperty("prepStmtCacheSize", "50");
+        config.addDataSourceProperty("rewriteBatchedStatements", "true");
+
+        // Otherwise, Connector/J ignores the fetch size and reads the whole result into memory.
+        config.addDataSourceProperty("useCursorFetch", "true");
+        return config;
+    }
+
+    @Override
+    protected Connection openConnection() throws SQLException {
+        return source.getConnection();
+    }
+
+    @Override
+    protected boolean isPooled() {
+        return true;
+    }
+
+    @Override
+    protected void createTables(@NotNull Connection connection, @NotNull Statement statement) throws SQLException {
+        // Create a table of roulette sessions.
+        statement.executeUpdate("CREATE TABLE IF NOT EXISTS roulette_sessions (" +
+                "roulette_session_uuid BINARY(16) PRIMARY KEY," +
+                "roulette_table_name VARCHAR(255) NOT NULL," +
+                "winning_slot VARCHAR(32) NOT NULL," +
+                "game_type VARCHAR(16) NOT NULL DEFAULT 'AMERICAN'," +
+                "session_date BIGINT NOT NULL," +
+                "fair_seed VARCHAR(64) NULL," +
+                "fair_disabled VARCHAR(512) NULL" +
+                ");");
+
+        // Create a table of player results.
+        statement.executeUpdate("CREATE TABLE IF NOT EXISTS player_results (" +
+                "player_uuid BINARY(16) NOT NULL," +
+                "roulette_session_uuid BINARY(16) NOT NULL," +
+                "win VARCHAR(16) NOT NULL," +
+                "money_involved INTEGER NOT NULL," +
+                "player_slot VARCHAR(32) NOT NULL," +
+                "FOREIGN KEY(roulette_session_uuid) REFERENCES roulette_sessions(roulette_session_uuid) ON DELETE CASCADE" +
+                ");");
+
+        // Create a table of map ids.
+        statement.executeUpdate("CREATE TABLE IF NOT EXISTS roulette_maps (" +
+                "map_id INTEGER NOT NULL," +
+                "player_uuid BINARY(16) NOT NULL," +
+                "roulette_session_uuid BINARY(16) NOT NULL," +
+                "FOREIGN KEY(roulette_session_uuid) REFERENCES roulette_sessions(roulette_session_uuid) ON DELETE CASCADE" +
+                ");");
+    }
+
+    @Override
+    protected String insertIgnore() {
+        return "INSERT IGNORE";
+    }
+
+    @Override
+    protected String dual() {
+        return " FROM DUAL";
+    }
+
+    @Override
+    protected String unboundedLimit() {
+        return String.valueOf(Long.MAX_VALUE);
+    }
+
+    @Override
+    protected void shutdown() {
+        source.close();
+    }
+}
@@ -0,0 +1,535 @@
+package me.matsubara.roulette.manager.data.store;
+
+import me.matsubara.roulette.game.GameType;
+import me.matsubara.roulette.game.data.Slot;
+import me.matsubara.roulette.game.data.WinData;
+import me.matsubara.roulette.manager.data.MapRecord;
+import me.matsubara.roulette.manager.data.PlayerResult;
+import me.matsubara.roulette.manager.data.RouletteSession;
+import me.matsubara.roulette.util.TextUtils;
+import me.matsubara.roulette.util.UUIDUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.*;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.logging.Logger;
+
+/**
+ * A JDBC store, the differences between databases are left to the implementations.
+ */
+public abstract class SQLSessionStore implements SessionStore {
+
+    protected final Logger logger;
+
+    // The connection in use (if any) and the statements prepared on it.
+    private @Nullable Connection connection;
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+    private int depth;
+
+    private final String insertSession;
+    private final String insertMap;
+    private final String trimmed;
+
+    // Rows fetched at once while streaming the sessions (MySQL only honors it with useCursorFetch).
+    private static final int SESSIONS_FETCH_SIZE = 1000;
+
+    // The changes to the schema since the tables were first created, in order; never change or remove an applied one.
+    private static final List<Migration> MIGRATIONS = List.of(
+            new Migration(1, "Add game_type column to roulette_sessions", (connection, statement) ->
+                    addColumn(connection, statement, "roulette_sessions", "game_type", "VARCHAR(16) NOT NULL DEFAULT 'AMERICAN'")),
+            new Migration(2, "Add indexes for the lookups and deletes by session, player and map", (connection, statement) -> {
+                // Used to fetch the pages of old sessions.
+                createIndex(connection, statement, "idx_roulette_sessions_date", "roulette_sessions", "session_date");
+                // Used to join the results with their session.
+                createIndex(connection, statement, "idx_player_results_session", "player_results", "roulette_session_uuid");
+                // Covers the deletes of a single result (by player, session and slot).
+                createIndex(connection, statement, "idx_player_results_player", "player_results", "player_uuid, roulette_session_uuid, player_slot");
+                // Used to delete the map of a player, and to check if a map was already saved.
+                createIndex(connection, statement, "idx_roulette_maps_player", "roulette_maps", "player_uuid, roulette_session_uuid");
+                createIndex(connection, statement, "idx_roulette_maps_id", "roulette_maps", "map_id");
+            }),
+            new Migration(3, "Add fair_seed column to roulette_sessions", (connection, statement) ->
+                    addColumn(connection, statement, "roulette_sessions", "fair_seed", "VARCHAR(64) NULL")),
+            new Migration(4, "Add fair_disabled column and seed index to roulette_sessions", (connection, statement) -> {
+                addColumn(connection, statement, "roulette_sessions", "fair_disabled", "VARCHAR(512) NULL");
+                // Used to verify a round by its seed.
+                createIndex(connection, statement, "idx_roulette_sessions_seed", "roulette_sessions", "fair_seed");
+            }));
+
+    private static final String INSERT_RESULT = "INSERT INTO player_results (player_uuid, roulette_session_uuid, win, money_involved, player_slot) VALUES (?, ?, ?, ?, ?);";
+    private static final String DELETE_SESSION = "DELETE FROM roulette_sessions WHERE roulette_session_uuid = ?;";
+    private static final String DELETE_RESULT = "DELETE FROM player_results WHERE player_uuid = ? AND roulette_session_uuid = ? AND player_slot = ?;";
+    private static final String DELETE_MAP = "DELETE FROM roulette_maps WHERE player_uuid = ? AND roulette_session_uuid = ?;";
+
+    // Sessions (from the given table or subquery) with their results, the rows of a session are contiguous.
+    private static final String SELECT_SESSIONS = "SELECT s.roulette_session_uuid, s.roulette_table_name, s.winning_slot, s.game_type, s.session_date, s.fair_seed, s.fair_disabled, " +
+            "r.player_uuid, r.win, r.money_involved, r.player_slot " +
+            "FROM %s s " +
+            "LEFT JOIN player_results r ON r.roulette_session_uuid = s.roulette_session_uuid " +
+            "ORDER BY s.session_date DESC, s.roulette_session_uuid;";
+    private static final String SESSIONS_ORDER = " ORDER BY session_date DESC, roulette_session_uuid";
+    private static final String SELECT_WINS = "SELECT r.player_uuid, r.win, r.money_involved, r.player_slot, s.game_type " +
+            "FROM player_results r " +
+            "JOIN roulette_sessions s ON s.roulette_session_uuid = r.roulette_session_uuid " +
+            "WHERE r.win != 'DEFEAT'";
+
+    protected SQLSessionStore(Logger logger) {
+        this.logger = logger;
+
+        // The inserts are ignored if already applied, so the journal can be replayed safely.
+        this.insertSession = insertIgnore() + " INTO roulette_sessions (roulette_session_uuid, roulette_table_name, winning_slot, game_type, session_date, fair_seed, fair_disabled) VALUES (?, ?, ?, ?, ?, ?, ?);";
+        this.insertMap = "INSERT INTO roulette_maps (map_id, player_uuid, roulette_session_uuid) SELECT ?, ?, ?" + dual() + " " +
+                "WHERE EXISTS (SELECT 1 FROM roulette_sessions WHERE roulette_session_uuid = ?) " +
+                "AND NOT EXISTS (SELECT 1 FROM roulette_maps WHERE map_id = ?);";
+
+        // The sessions beyond a limit, wrapped in a derived table since some databases can't limit an IN subquery.
+        this.trimmed = "SELECT roulette_session_uuid FROM (SELECT roulette_session_uuid FROM roulette_sessions" + SESSIONS_ORDER + " LIMIT " + unboundedLimit() + " OFFSET %d) t";
+    }
+
+    /**
+     * @return a new connection to the database.
+     */
+    protected abstract Connection openConnection() throws SQLException;
+
+    /**
+     * @return whether the connection is returned (closed) after every operation, instead of being kept until {@link #close()}.
+     */
+    protected abstract boolean isPooled();
+
+    protected abstract void createTables(@NotNull Connection connection, @NotNull Statement statement) throws SQLException;
+
+    /**
+     * @return the statement used to insert a row, unless it already exists.
+     */
+    protected abstract String insertIgnore();
+
+    /**
+     * @return the table to select from when there's no table, including a leading space (if needed).
+     */
+    protected abstract String dual();
+
+    /**
+     * @return the limit used to skip rows without limiting the rest.
+     */
+    protected abstract String unboundedLimit();
+
+    /**
+     * Closes the resources of the implementation, after the connection is closed.
+     */
+    protected void shutdown() {
+    }
+
+    protected Connection getConnection() throws SQLException {
+        if (connection != null && !connection.isClosed()) return connection;
+
+        // The previous statements belong to a closed connection.
+        statements.clear();
+        return connection = openConnection();
+    }
+
+    private PreparedStatement prepare(String sql) throws SQLException {
+        Connection connection = getConnection();
+
+        PreparedStatement statement = statements.get(sql);
+        if (statement != null && !statement.isClosed()) return statement;
+
+        statements.put(sql, statement = connection.prepareStatement(sql));
+        return statement;
+    }
+
+    private <T> T use(@NotNull SQLSupplier<T> supplier) throws SQLException {
+        depth++;
+        try {
+            return supplier.get();
+        } finally {
+            // Nested operations (like inside a transaction) keep using the same connection.
+            if (--depth == 0 && isPooled()) release();
+        }
+    }
+
+    private void run(@NotNull SQLRunnable runnable) throws SQLException {
+        use(() -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    private void release() throws SQLException {
+        try {
+            for (PreparedStatement statement : statements.values()) {
+                statement.close();
+            }
+            statements.clear();
+            if (connection != null) connection.close();
+        } finally {
+            connection = null;
+        }
+    }
+
+    @Override
+    public void init() throws SQLException {
+        run(() -> {
+            Connection connection = getConnection();
+            try (Statement statement = connection.createStatement()) {
+                createTables(connection, statement);
+                statement.executeUpdate("CREATE TABLE IF NOT EXISTS schema_version (" +
+                        "version INTEGER PRIMARY KEY," +
+                        "description VARCHAR(255) NOT NULL," +
+                        "applied_at BIGINT NOT NULL" +
+                        ");");
+            }
+            migrate(connection);
+        });
+    }
+
+    private void migrate(@NotNull Connection connection) throws SQLException {
+        int current;
+        try (Statement statement = connection.createStatement();
+             ResultSet set = statement.executeQuery("SELECT MAX(version) FROM schema_version;")) {
+            current = set.next() ? set.getInt(1) : 0;
+        }
+
+        for (Migration migration : MIGRATIONS) {
+            if (migration.version() <= current) continue;
+
+            // Some databases commit DDL implicitly, so every step must be safe to run again.
+            transaction(() -> {
+                try (Statement statement = connection.createStatement()) {
+                    migration.step().apply(connection, statement);
+                }
+
+                PreparedStatement statement = prepare("INSERT INTO schema_version (version, description, applied_at) VALUES (?, ?, ?);");
+                statement.setInt(1, migration.version());
+                statement.setString(2, migration.description());
+                statement.setLong(3, System.currentTimeMillis());
+                statement.executeUpdate();
+            });
+
+            logger.info("Database updated to version " + migration.version() + " (" + migration.description() + ").");
+        }
+    }
+
+    private static void addColumn(@NotNull Connection connection, Statement statement, String table, String column, String definition) throws SQLException {
+        // Some databases store the names in upper case.
+        for (String temp : new String[]{table, table.toUpperCase(Locale.ROOT)}) {
+            // Only look in the current database, other ones may have a table with the same name.
+            try (ResultSet result = connection.getMetaData().getColumns(connection.getCatalog(), null, temp, null)) {
+                while (result.next()) {
+                    if (column.equalsIgnoreCase(result.getString("COLUMN_NAME"))) return;
+                }
+            }
+        }
+        statement.executeUpdate("ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition + ";");
+    }
+
+    private static void createIndex(@NotNull Connection connection, Statement statement, String name, String table, String columns) throws SQLException {
+        // Some databases store the names in upper case.
+        for (String temp : new String[]{table, table.toUpperCase(Locale.ROOT)}) {
+            try (ResultSet result = connection.getMetaData().getIndexInfo(connection.getCatalog(), null, temp, false, true)) {
+                while (result.next()) {
+                    if (name.equalsIgnoreCase(result.getString("INDEX_NAME"))) return;
+                }
+            }
+        }
+        statement.executeUpdate("CREATE INDEX " + name + " ON " + table + " (" + columns + ");");
+    }
+
+    @Override
+    public void transaction(@NotNull SQLRunnable runnable) throws SQLException {
+        run(() -> {
+            Connection connection = getConnection();
+            connection.setAutoCommit(false);
+            try {
+                runnable.run();
+                connection.commit();
+            } catch (SQLException | RuntimeException exception) {
+                connection.rollback();
+                throw exception;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        });
+    }
+
+    @Override
+    public void saveSession(@NotNull RouletteSession session) throws SQLException {
+        run(() -> {
+            PreparedStatement statement = prepare(insertSession);
+            statement.setBytes(1, UUIDUtils.toBytes(session.sessionUUID()));
+            statement.setString(2, session.name());
+            statement.setString(3, session.slot().name());
+            statement.setString(4, session.type().name());
+            statement.setLong(5, session.timestamp());
+            statement.setString(6, session.seed());
+            statement.setString(7, session.disabled().isEmpty() ? null : session.disabled().stream().map(Slot::name).collect(Collectors.joining(",")));
+
+            // Already saved, the journal is being replayed.
+            if (statement.executeUpdate() == 0) return;
+
+            // After saving session, save results.
+            PreparedStatement results = prepare(INSERT_RESULT);
+            for (PlayerResult result : session.results()) {
+                WinData.WinType win = result.win();
+                results.setBytes(1, UUIDUtils.toBytes(result.playerUUID()));
+                results.setBytes(2, UUIDUtils.toBytes(result.sessionUUID()));
+                results.setString(3, win != null ? win.name() : "DEFEAT");
+                results.setInt(4, (int) Math.round(result.money() * 100));
+                results.setString(5, result.slot().name());
+                results.addBatch();
+            }
+            results.executeBatch();
+        });
+    }
+
+    @Override
+    public void deleteSession(@NotNull UUID sessionUUID) throws SQLException {
+        run(() -> {
+            PreparedStatement statement = prepare(DELETE_SESSION);
+            statement.setBytes(1, UUIDUtils.toBytes(sessionUUID));
+            statement.executeUpdate();
+        });
+    }
+
+    @Override
+    public void deleteResult(@NotNull UUID playerUUID, @NotNull UUID sessionUUID, @NotNull Slot slot) throws SQLException {
+        // Since the player can only make 1 bet on a slot, we don't need an ID.
+        run(() -> {
+            PreparedStatement statement = prepare(DELETE_RESULT);
+            statement.setBytes(1, UUIDUtils.toBytes(playerUUID));
+            statement.setBytes(2, UUIDUtils.toBytes(sessionUUID));
+            statement.setString(3, slot.name());
+            statement.executeUpdate();
+        });
+    }
+
+    @Override
+    public void trimSessions(int limit, boolean keepVictories, @NotNull WinConsumer removed) throws SQLException {
+        String beyond = trimmed.formatted(limit);
+        run(() -> {
+            try (Statement statement = getConnection().createStatement()) {
+                if (!keepVictories) {
+                    // These wins are about to be removed, so they no longer count for the stats.
+                    try (ResultSet set = statement.executeQuery(SELECT_WINS + " AND s.roulette_session_uuid IN (" + beyond + ");")) {
+                        readWins(set, removed);
+                    }
+                    statement.executeUpdate("DELETE FROM roulette_sessions WHERE roulette_session_uuid IN (" + beyond + ");");
+                    return;
+                }
+
+                // Remove losing results, and the sessions that are left empty.
+                statement.executeUpdate("DELETE FROM player_results WHERE win = 'DEFEAT' AND roulette_session_uuid IN (" + beyond + ");");
+                statement.executeUpdate("DELETE FROM roulette_sessions WHERE roulette_session_uuid IN (" + beyond + ") " +
+                        "AND NOT EXISTS (SELECT 1 FROM player_results r WHERE r.roulette_session_uuid = roulette_sessions.roulette_session_uuid);");
+            }
+        });
+    }
+
+    @Override
+    public int countSessions() throws SQLException {
+        return use(() -> {
+            try (Statement statement = getConnection().createStatement();
+                 ResultSet set = statement.executeQuery("SELECT COUNT(*) FROM roulette_sessions;")) {
+                return set.next() ? set.getInt(1) : 0;
+            }
+        });
+    }
+
+    @Override
+    public void loadSessions(int limit, @NotNull Consumer<RouletteSession> consumer) throws SQLException {
+        // Every session (or only the newest ones) with its results, in a single ordered pass.
+        String sql = SELECT_SESSIONS.formatted(limit != -1 ?
+                "(SELECT * FROM roulette_sessions" + SESSIONS_ORDER + " LIMIT " + limit + ")" :
+                "roulette_sessions");
+
+        run(() -> {
+            try (PreparedStatement statement = getConnection().prepareStatement(sql)) {
+                statement.setFetchSize(SESSIONS_FETCH_SIZE);
+                try (ResultSet set = statement.executeQuery()) {
+                    readSessions(set, consumer);
+                }
+            }
+        });
+    }
+
+    @Override
+    public @NotNull List<RouletteSession> loadSessions(@Nullable RouletteSession after, int offset, int limit) throws SQLException {
+        // Keyset pagination when we know the previous session, otherwise we need an offset.
+        String from = after != null ?
+                "(SELECT * FROM roulette_sessions WHERE session_date < ? OR (session_date = ? AND roulette_session_uuid > ?)" + SESSIONS_ORDER + " LIMIT ?)" :
+                "(SELECT * FROM roulette_sessions" + SESSIONS_ORDER + " LIMIT ? OFFSET ?)";
+
+        List<RouletteSession> page = new ArrayList<>();
+        run(() -> {
+            PreparedStatement statement = prepare(SELECT_SESSIONS.formatted(from));
+            if (after != null) {
+                statement.setLong(1, after.timestamp());
+                statement.setLong(2, after.timestamp());
+                statement.setBytes(3, UUIDUtils.toBytes(after.sessionUUID()));
+                statement.setInt(4, limit);
+            } else {
+                statement.setInt(1, limit);
+                statement.setInt(2, offset);
+            }
+
+            try (ResultSet set = statement.executeQuery()) {
+                readSessions(set, page::add);
+            }
+        });
+        return page;
+    }
+
+    @Override
+    public @Nullable RouletteSession loadSession(@NotNull UUID sessionUUID) throws SQLException {
+        List<RouletteSession> found = new ArrayList<>();
+        run(() -> {
+            PreparedStatement statement = prepare(SELECT_SESSIONS.formatted("(SELECT * FROM roulette_sessions WHERE roulette_session_uuid = ?)"));
+            statement.setBytes(1, UUIDUtils.toBytes(sessionUUID));
+            try (ResultSet set = statement.executeQuery()) {
+                readSessions(set, found::add);
+            }
+        });
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    @Override
+    public @Nullable RouletteSession loadSessionBySeed(@NotNull String seed) throws SQLException {
+        List<RouletteSession> found = new ArrayList<>();
+        run(() -> {
+            PreparedStatement statement = prepare(SELECT_SESSIONS.formatted("(SELECT * FROM roulette_sessions WHERE fair_seed = ?)"));
+            statement.setString(1, seed);
+            try (ResultSet set = statement.executeQuery()) {
+                readSessions(set, found::add);
+            }
+        });
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    private void readSessions(@NotNull ResultSet set, Consumer<RouletteSession> consumer) throws SQLException {
+        RouletteSession session = null;
+        while (set.next()) {
+            UUID sessionUUID = UUIDUtils.toUUID(set.getBytes("roulette_session_uuid"));
+
+            // The rows of a session are contiguous, so a new UUID means a new session.
+            if (session == null || !session.sessionUUID().equals(sessionUUID)) {
+                if (session != null) consumer.accept(session);
+                session = new RouletteSession(
+                        sessionUUID,
+                        set.getString("roulette_table_name"),
+                        TextUtils.getOrDefault(Slot.class, set.getString("winning_slot"), Slot.SLOT_0),
+                        TextUtils.getOrDefault(GameType.class, set.getString("game_type"), GameType.AMERICAN),
+                        set.getLong("session_date"),
+                        set.getString("fair_seed"),
+                        readSlots(set.getString("fair_disabled")));
+            }
+
+            // The session doesn't have any result.
+            byte[] playerUUID = set.getBytes("player_uuid");
+            if (playerUUID == null) continue;
+
+            session.results().add(new PlayerResult(
+                    session,
+                    UUIDUtils.toUUID(playerUUID),
+                    sessionUUID,
+                    TextUtils.getOrNull(WinData.WinType.class, set.getString("win")),
+                    set.getInt("money_involved") / 100.0d,
+                    TextUtils.getOrNull(Slot.class, set.getString("player_slot"))));
+        }
+
+        // The last session is complete once there are no more rows.
+        if (session != null) consumer.accept(session);
+    }
+
+    @Override
+    public void loadWins(@NotNull WinConsumer consumer) throws SQLException {
+        run(() -> {
+            try (PreparedStatement statement = getConnection().prepareStatement(SELECT_WINS + ";")) {
+                statement.setFetchSize(SESSIONS_FETCH_SIZE);
+                try (ResultSet set = statement.executeQuery()) {
+                    readWins(set, consumer);
+                }
+            }
+        });
+    }
+
+    private void readWins(@NotNull ResultSet set, WinConsumer consumer) throws SQLException {
+        while (set.next()) {
+            WinData.WinType win = TextUtils.getOrNull(WinData.WinType.class, set.getString("win"));
+            Slot slot = TextUtils.getOrNull(Slot.class, set.getString("player_slot"));
+            if (win == null || slot == null) continue;
+
+            consumer.accept(
+                    UUIDUtils.toUUID(set.getBytes("player_uuid")),
+                    win,
+                    set.getInt("money_involved") / 100.0d,
+                    slot,
+                    TextUtils.getOrDefault(GameType.class, set.getString("game_type"), GameType.AMERICAN));
+        }
+    }
+
+    @Override
+    public void saveMaps(@NotNull List<MapRecord> maps) throws SQLException {
+        run(() -> {
+            PreparedStatement statement = prepare(insertMap);
+            for (MapRecord map : maps) {
+                statement.setInt(1, map.mapId());
+                statement.setBytes(2, UUIDUtils.toBytes(map.playerUUID()));
+                statement.setBytes(3, UUIDUtils.toBytes(map.sessionUUID()));
+                statement.setBytes(4, UUIDUtils.toBytes(map.sessionUUID()));
+                statement.setInt(5, map.mapId());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        });
+    }
+
+    @Override
+    public void deleteMap(@NotNull UUID playerUUID, @NotNull UUID sessionUUID) throws SQLException {
+        run(() -> {
+            PreparedStatement statement = prepare(DELETE_MAP);
+            statement.setBytes(1, UUIDUtils.toBytes(playerUUID));
+            statement.setBytes(2, UUIDUtils.toBytes(sessionUUID));
+            statement.executeUpdate();
+        });
+    }
+
+    @Override
+    public void loadMaps(@NotNull Consumer<MapRecord> consumer) throws SQLException {
+        run(() -> {
+            try (PreparedStatement statement = getConnection().prepareStatement("SELECT * FROM roulette_maps;");
+                 ResultSet set = statement.executeQuery()) {
+                while (set.next()) {
+                    consumer.accept(new MapRecord(
+                            set.getInt("map_id"),
+                            UUIDUtils.toUUID(set.getBytes("player_uuid")),
+                            UUIDUtils.toUUID(set.getBytes("roulette_session_uuid"))));
+                }
+            }
+        });
+    }
+
+    private static @NotNull List<Slot> readSlots(@Nullable String slots) {
+        if (slots == null || slots.isEmpty()) return List.of();
+        return Arrays.stream(slots.split(","))
+                .map(name -> TextUtils.getOrNull(Slot.class, name))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public void close() {
+        try {
+            release();
+        } catch (SQLException exception) {
+            exception.printStackTrace();
+        }
+        shutdown();
+    }
+
+    @FunctionalInterface
+    private interface SQLSupplier<T> {
+        T get() throws SQLException;
+    }
+}
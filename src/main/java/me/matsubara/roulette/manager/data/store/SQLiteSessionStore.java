@@ -0,0 +1,103 @@
+package me.matsubara.roulette.manager.data.store;
+
+import me.matsubara.roulette.RoulettePlugin;
+import me.matsubara.roulette.file.Config;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.sql.*;
+import java.util.Locale;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * A store in a local file (data.db), using a single connection for the whole life of the plugin.
+ */
+public final class SQLiteSessionStore extends SQLSessionStore {
+
+    private final File databaseFile;
+    private final String synchronousMode;
+
+    private static final Set<String> SYNCHRONOUS_MODES = Set.of("OFF", "NORMAL", "FULL", "EXTRA");
+
+    public SQLiteSessionStore(@NotNull RoulettePlugin plugin, File databaseFile) {
+        this(plugin.getLogger(), databaseFile, Config.DATABASE_SYNCHRONOUS.asString("NORMAL"));
+    }
+
+    // Doesn't need the plugin, so it can also be used outside the server (like in the benchmarks).
+    public SQLiteSessionStore(Logger logger, File databaseFile, @NotNull String synchronousMode) {
+        super(logger);
+        this.databaseFile = databaseFile;
+        this.synchronousMode = validateSynchronousMode(synchronousMode.toUpperCase(Locale.ROOT));
+    }
+
+    @Override
+    protected Connection openConnection() throws SQLException {
+        Connection connection = DriverManager.getConnection("jdbc:sqlite:" + databaseFile.getPath());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA foreign_keys = ON;");
+            statement.execute("PRAGMA journal_mode = WAL;");
+            statement.execute("PRAGMA synchronous = " + synchronousMode + ";");
+        }
+        return connection;
+    }
+
+    private @NotNull String validateSynchronousMode(String mode) {
+        if (SYNCHRONOUS_MODES.contains(mode)) return mode;
+
+        logger.warning("Invalid synchronous mode {" + mode + "}, using NORMAL.");
+        return "NORMAL";
+    }
+
+    @Override
+    protected boolean isPooled() {
+        return false;
+    }
+
+    @Override
+    protected void createTables(@NotNull Connection connection, @NotNull Statement statement) throws SQLException {
+        // Create a table of roulette sessions.
+        statement.executeUpdate("CREATE TABLE IF NOT EXISTS roulette_sessions (" +
+                "roulette_session_uuid BLOB PRIMARY KEY," +
+                "roulette_table_name TEXT NOT NULL," +
+                "winning_slot TEXT NOT NULL," +
+                "game_type TEXT NOT NULL," +
+                "session_date BIGINT NOT NULL," +
+                "fair_seed TEXT," +
+                "fair_disabled TEXT" +
+                ");");
+
+        // Create a table of player results.
+        statement.executeUpdate("CREATE TABLE IF NOT EXISTS player_results (" +
+                "player_uuid BLOB NOT NULL," +
+                "roulette_session_uuid BLOB NOT NULL," +
+                "win TEXT NOT NULL," +
+                "money_involved INTEGER NOT NULL," +
+                "player_slot TEXT NOT NULL," +
+                "FOREIGN KEY(roulette_session_uuid) REFERENCES roulette_sessions(roulette_session_uuid) ON DELETE CASCADE" +
+                ");");
+
+        // Create a table of map ids.
+        statement.executeUpdate("CREATE TABLE IF NOT EXISTS roulette_maps (" +
+                "map_id INTEGER NOT NULL," +
+                "player_uuid BLOB NOT NULL," +
+                "roulette_session_uuid BLOB NOT NULL," +
+                "FOREIGN KEY(roulette_session_uuid) REFERENCES roulette_sessions(roulette_session_uuid) ON DELETE CASCADE" +
+                ");");
+    }
+
+    @Override
+    protected String insertIgnore() {
+        return "INSERT OR IGNORE";
+    }
+
+    @Override
+    protected String dual() {
+        return "";
+    }
+
+    @Override
+    protected String unboundedLimit() {
+        return "-1";
+    }
+}
@@ -0,0 +1,96 @@
+package me.matsubara.roulette.manager.data.store;
+
+import me.matsubara.roulette.game.GameType;
+import me.matsubara.roulette.game.data.Slot;
+import me.matsubara.roulette.game.data.WinData;
+import me.matsubara.roulette.manager.data.MapRecord;
+import me.matsubara.roulette.manager.data.RouletteSession;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Where the sessions, their results and the maps are saved.
+ * <p>
+ * Implementations aren't thread-safe, every method must be called from the same (database) thread.
+ */
+public interface SessionStore {
+
+    /**
+     * Creates the tables (if needed).
+     */
+    void init() throws SQLException;
+
+    /**
+     * Runs the given task in a single transaction, rolled back if it fails.
+     */
+    void transaction(@NotNull SQLRunnable runnable) throws SQLException;
+
+    /**
+     * Saves a session with all of its results, ignored if the session already exists.
+     */
+    void saveSession(@NotNull RouletteSession session) throws SQLException;
+
+    void deleteSession(@NotNull UUID sessionUUID) throws SQLException;
+
+    void deleteResult(@NotNull UUID playerUUID, @NotNull UUID sessionUUID, @NotNull Slot slot) throws SQLException;
+
+    /**
+     * Removes the sessions beyond the given limit, or only their losing results if {@code keepVictories} is true.
+     *
+     * @param removed receives the wins that are removed.
+     */
+    void trimSessions(int limit, boolean keepVictories, @NotNull WinConsumer removed) throws SQLException;
+
+    int countSessions() throws SQLException;
+
+    /**
+     * Loads the newest sessions (or all of them if the limit is -1), from new to old.
+     */
+    void loadSessions(int limit, @NotNull Consumer<RouletteSession> consumer) throws SQLException;
+
+    /**
+     * Loads a page of sessions, from new to old.
+     *
+     * @param after  the last session of the previous page, or null to use the offset instead.
+     * @param offset the amount of sessions to skip, if {@code after} is null.
+     */
+    @NotNull List<RouletteSession> loadSessions(@Nullable RouletteSession after, int offset, int limit) throws SQLException;
+
+    @Nullable RouletteSession loadSession(@NotNull UUID sessionUUID) throws SQLException;
+
+    /**
+     * @return the provably fair session with the given seed, or null if there isn't any.
+     */
+    @Nullable RouletteSession loadSessionBySeed(@NotNull String seed) throws SQLException;
+
+    /**
+     * Loads the winning results of every session.
+     */
+    void loadWins(@NotNull WinConsumer consumer) throws SQLException;
+
+    /**
+     * Saves the given maps, ignoring the ones already saved or whose session no longer exists.
+     */
+    void saveMaps(@NotNull List<MapRecord> maps) throws SQLException;
+
+    void deleteMap(@NotNull UUID playerUUID, @NotNull UUID sessionUUID) throws SQLException;
+
+    void loadMaps(@NotNull Consumer<MapRecord> consumer) throws SQLException;
+
+    void close();
+
+    @FunctionalInterface
+    interface SQLRunnable {
+        void run() throws SQLException;
+    }
+
+    @FunctionalInterface
+    interface WinConsumer {
+        void accept(UUID playerUUID, WinData.WinType win, double money, Slot slot, GameType type);
+    }
+}
@@ -2,6 +2,7 @@ package me.matsubara.roulette.model;
 
 import com.google.common.collect.Multimap;
 import com.google.common.collect.MultimapBuilder;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import me.matsubara.roulette.RoulettePlugin;
@@ -29,6 +30,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
@@ -51,8 +53,17 @@ public final class Model {
     // Set with all locations associated with a name, mostly used to spawn particles.
     private final List<ModelLocation> locations = new ArrayList<>();
 
-    // Set with the unique id of the players who aren't seeing the entity due to the distance.
-    private final Set<UUID> out = new HashSet<>();
+    // The render tier of the players who are seeing the model (in the same world and in range), maintained by the stand manager.
+    @Getter(AccessLevel.NONE)
+    private final Map<Player, RenderTier> viewers = new ConcurrentHashMap<>();
+
+    // The players seeing (at least) each tier of the model.
+    @Getter(AccessLevel.NONE)
+    private final Map<RenderTier, Set<Player>> tiers = new EnumMap<>(RenderTier.class);
+
+    // Read-only views of the tiers, so they can be shared without copying them.
+    @Getter(AccessLevel.NONE)
+    private final Map<RenderTier, Set<Player>> seeing = new EnumMap<>(RenderTier.class);
 
     // Type of the carpets.
     private Material carpetsType;
@@ -63,6 +74,9 @@ public final class Model {
     // The index of the pattern used.
     private int patternIndex;
 
+    // Whether the parts that only show a helmet are rendered with item displays (1.19.4+), instead of armor stands.
+    private final boolean displayEntities;
+
     // Configuration from a model file.
     private FileConfiguration configuration;
 
@@ -104,7 +118,8 @@ public final class Model {
             Location location,
             @Nullable Material carpet,
             @Nullable Material customization,
-            @Nullable Integer patternIndex) {
+            @Nullable Integer patternIndex,
+            boolean displayEntities) {
         this.plugin = plugin;
         this.modelUniqueId = modelId;
         this.location = location;
@@ -113,9 +128,47 @@ public final class Model {
         this.patternIndex = patternIndex != null && patternIndex < PATTERNS.length ?
                 patternIndex :
                 PluginUtils.RANDOM.nextInt(PATTERNS.length);
+        this.displayEntities = displayEntities && PacketStand.supportsItemDisplays();
+
+        for (RenderTier tier : RenderTier.values()) {
+            Set<Player> players = ConcurrentHashMap.newKeySet();
+            tiers.put(tier, players);
+            seeing.put(tier, Collections.unmodifiableSet(players));
+        }
+
         handleModel(type);
     }
 
+    public @Nullable RenderTier getTier(Player player) {
+        return viewers.get(player);
+    }
+
+    /**
+     * Changes the tier of the model that the player is seeing, null if the player isn't seeing the model anymore.
+     */
+    public void setTier(Player player, @Nullable RenderTier tier) {
+        if (tier != null) {
+            viewers.put(player, tier);
+        } else {
+            viewers.remove(player);
+        }
+
+        for (Map.Entry<RenderTier, Set<Player>> entry : tiers.entrySet()) {
+            if (tier != null && tier.includes(entry.getKey())) {
+                entry.getValue().add(player);
+            } else {
+                entry.getValue().remove(player);
+            }
+        }
+    }
+
+    /**
+     * @return a read-only (live) view of the players seeing (at least) the given tier of the model.
+     */
+    public @NotNull Set<Player> getSeeing(@NotNull RenderTier tier) {
+        return seeing.get(tier);
+    }
+
     private void handleModel(GameType type) {
         Collection<StandSettings> settings = MODEL_CACHE.get(type);
         if (settings.isEmpty()) {
@@ -170,7 +223,22 @@ public final class Model {
         }
 
         // Spawn model but don't show it to anyone, we want to apply customizations first.
-        stands.add(new PacketStand(plugin, finalLocation, settings, isStand));
+        boolean itemDisplay = isStand && displayEntities && canBeItemDisplay(name, settings);
+        stands.add(new PacketStand(plugin, finalLocation, settings, isStand && !itemDisplay, itemDisplay));
+    }
+
+    private boolean canBeItemDisplay(@NotNull String name, @NotNull StandSettings settings) {
+        // Decorations are held in the hand (which item displays can't do), and visible stands are part of the model.
+        if (name.startsWith("DECO") || !settings.isInvisible()) return false;
+
+        String customName = settings.getCustomName();
+        if (customName != null && !customName.isEmpty()) return false;
+
+        for (Map.Entry<ItemSlot, ItemStack> entry : settings.getEquipment().entrySet()) {
+            ItemStack item = entry.getValue();
+            if (entry.getKey() != ItemSlot.HEAD && item != null && !item.getType().isAir()) return false;
+        }
+        return true;
     }
 
     private @Nullable String getDecoURL(@NotNull String name) {
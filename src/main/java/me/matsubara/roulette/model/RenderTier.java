@@ -0,0 +1,30 @@
+package me.matsubara.roulette.model;
+
+import me.matsubara.roulette.file.Config;
+import org.jetbrains.annotations.Nullable;
+
+public enum RenderTier {
+    FAR, // The body of the table and the wheel.
+    MID, // The rest of the model (chairs, decoration, ball) and the join hologram.
+    NEAR; // Chips, bet/spin holograms and animations.
+
+    public boolean includes(@Nullable RenderTier tier) {
+        return tier != null && ordinal() >= tier.ordinal();
+    }
+
+    /**
+     * @param distanceSquared the squared distance between the player and the table.
+     * @param renderDistance  the (squared) render distance of the tables.
+     * @return the tier for the given distance, or null if out of range.
+     */
+    public static @Nullable RenderTier byDistance(double distanceSquared, double renderDistance) {
+        if (distanceSquared > renderDistance) return null;
+
+        double mid = Math.min(Math.pow(Config.LOD_MID_DISTANCE.asDouble(), 2), renderDistance);
+        double near = Math.min(Math.pow(Config.LOD_NEAR_DISTANCE.asDouble(), 2), mid);
+
+        if (distanceSquared <= near) return NEAR;
+        if (distanceSquared <= mid) return MID;
+        return FAR;
+    }
+}
@@ -0,0 +1,65 @@
+package me.matsubara.roulette.model.stand;
+
+import me.matsubara.roulette.RoulettePlugin;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the packets to spawn/destroy many stands for a single player, and sends all of them at once with {@link #flush()}.
+ * <p>
+ * Since 1.19.4, the packets are sent as bundles, so the client shows (or hides) the whole set in the same tick.
+ */
+public final class PacketBatch {
+
+    private final RoulettePlugin plugin;
+    private final Player player;
+    private final List<Object> packets = new ArrayList<>();
+    private final List<Integer> destroyed = new ArrayList<>();
+
+    public PacketBatch(RoulettePlugin plugin, Player player) {
+        this.plugin = plugin;
+        this.player = player;
+    }
+
+    public void spawn(@NotNull PacketStand stand) {
+        stand.collectSpawn(packets);
+    }
+
+    public void destroy(@NotNull PacketStand stand) {
+        // All the entities are removed with a single packet when flushing.
+        destroyed.add(stand.getId());
+    }
+
+    /**
+     * @return the amount of packets collected so far (the destroys are sent as a single packet).
+     */
+    public int size() {
+        return packets.size() + (destroyed.isEmpty() ? 0 : 1);
+    }
+
+    public void flush() {
+        // Prevent errors when trying to send packets when the plugin is being disabled.
+        if (!plugin.isEnabled() || !player.isOnline()) {
+            clear();
+            return;
+        }
+
+        if (!destroyed.isEmpty()) {
+            int[] ids = destroyed.stream()
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            packets.addAll(PacketStand.createDestroyEntitiesPacket(ids));
+        }
+
+        PacketStand.sendBundled(player, packets);
+        clear();
+    }
+
+    private void clear() {
+        packets.clear();
+        destroyed.clear();
+    }
+}
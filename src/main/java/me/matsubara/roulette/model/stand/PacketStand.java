@@ -1,6 +1,10 @@
 package me.matsubara.roulette.model.stand;
 
 import com.cryptomorin.xseries.reflection.XReflection;
+import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityRelativeMove;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityRelativeMoveAndRotation;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityRotation;
 import com.google.common.base.Strings;
 import io.github.retrooper.packetevents.util.SpigotReflectionUtil;
 import io.netty.buffer.ByteBuf;
@@ -10,6 +14,7 @@ import lombok.Setter;
 import me.matsubara.roulette.RoulettePlugin;
 import me.matsubara.roulette.model.stand.data.ItemSlot;
 import me.matsubara.roulette.model.stand.data.Pose;
+import me.matsubara.roulette.util.PacketBroadcast;
 import me.matsubara.roulette.util.Reflection;
 import org.bukkit.Location;
 import org.bukkit.World;
@@ -20,10 +25,14 @@ import org.bukkit.util.EulerAngle;
 import org.bukkit.util.Vector;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.joml.Quaternionf;
 import org.joml.Vector3f;
 
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
 import java.util.*;
 
 @Getter
@@ -34,19 +43,38 @@ public final class PacketStand {
     private final UUID uniqueId;
     private final StandSettings settings;
     private final boolean isStand;
+    private final boolean isItemDisplay;
     private @Setter Location location;
     private byte yaw, pitch;
     private World world;
     private boolean destroyed;
 
     private Object spawn;
+    private Location spawnLocation;
     private Object metadata;
     private Object teleport;
     private Object rotation;
     private Object destroyEntities;
     private List<Object> equipments;
 
+    // The metadata values sent the last time, and the players that received them.
+    private Map<Object, Object> sent;
+    private Set<UUID> sentTo;
+
+    // The position known by the players seeing this stand, encoded like the protocol does (1/4096 of a block).
+    private long sentX, sentY, sentZ;
+    private byte sentYaw, sentPitch;
+    private boolean sentKnown;
+
     private static int PROTOCOL = -1;
+    private static final int MAX_BUNDLE_SIZE = 4096;
+    private static final double RELATIVE_MOVE_SCALE = 4096.0d;
+
+    // Where (and how big) an armor stand renders its helmet, used to place item displays the same way.
+    private static final float NECK_HEIGHT = 1.4385f;
+    private static final float HELMET_OFFSET = 0.25f;
+    private static final float HELMET_SCALE = 0.625f;
+    private static final byte ITEM_DISPLAY_HEAD = 5;
     private static final int MINOR_NUMBER = XReflection.MINOR_NUMBER;
 
     // Classes.
@@ -87,6 +115,7 @@ public final class PacketStand {
     private static final Class<?> SERVER_PLAYER_CONNECTION;
     private static final Class<?> GAME_PACKET_LISTENER;
     private static final Class<?> PACKET;
+    private static final Class<?> PACKET_BUNDLE;
 
     // Methods.
     private static final MethodHandle asNMSCopy;
@@ -123,6 +152,8 @@ public final class PacketStand {
     private static final MethodHandle immutableRegistryAccess;
     private static final MethodHandle positionMoveRotation;
     private static final MethodHandle vec3d;
+    private static final MethodHandle packetBundle;
+    private static final MethodHandle dataWatcherObject;
 
     // Fields.
     private static final MethodHandle CONNECTION;
@@ -133,6 +164,11 @@ public final class PacketStand {
     private static final Object DWO_SCALE_ID;
     private static final Object DWO_TEXT_ID;
     private static final Object DWO_BACKGROUND_COLOR_ID;
+    private static final Object DWO_TRANSLATION_ID;
+    private static final Object DWO_LEFT_ROTATION_ID;
+    private static final Object DWO_ITEM_ID;
+    private static final Object DWO_ITEM_DISPLAY_ID;
+    private static final Object DWO_TELEPORT_DURATION_ID;
 
     public static final Object DWO_HEAD_POSE;
     public static final Object DWO_BODY_POSE;
@@ -145,6 +181,7 @@ public final class PacketStand {
     private static final Object ARMOR_STAND;
     private static final int ARMOR_STAND_TYPE_ID;
     private static final Object TEXT_DISPLAY;
+    private static final Object ITEM_DISPLAY;
     private static final int TEXT_DISPLAY_TYPE_ID;
     private static final Object ITEM;
     private static final Object DATA_COMPONENT_TYPE;
@@ -191,6 +228,7 @@ public final class PacketStand {
         SERVER_PLAYER_CONNECTION = Reflection.getNMSClass("server.network", "ServerPlayerConnection", "PlayerConnection");
         GAME_PACKET_LISTENER = Reflection.getNMSClass("server.network", "ServerGamePacketListenerImpl", "PlayerConnection");
         PACKET = Reflection.getNMSClass("network.protocol", "Packet");
+        PACKET_BUNDLE = display ? Reflection.getNMSClass("network.protocol.game", "ClientboundBundlePacket") : null; // Bundles were added in 1.19.4.
 
         // Initialize methods.
         asNMSCopy = Reflection.getMethod(CRAFT_ITEM_STACK, "asNMSCopy", MethodType.methodType(ITEM_STACK, ItemStack.class), true, true);
@@ -269,6 +307,8 @@ public final class PacketStand {
         immutableRegistryAccess = IMMUTABLE_REGISTRY_ACCESS != null ? Reflection.getConstructor(IMMUTABLE_REGISTRY_ACCESS, List.class) : null;
         positionMoveRotation = POSITION_MOVE_ROTATION != null ? Reflection.getConstructor(POSITION_MOVE_ROTATION, VEC_3D, VEC_3D, float.class, float.class) : null;
         vec3d = Reflection.getConstructor(VEC_3D, double.class, double.class, double.class);
+        packetBundle = PACKET_BUNDLE != null ? Reflection.getConstructor(PACKET_BUNDLE, Iterable.class) : null;
+        dataWatcherObject = Reflection.getConstructor(DATA_WATCHER_OBJECT, int.class, DATA_WATCHER_SERIALIZER);
 
         // Initialize fields.
         CONNECTION = Reflection.getField(ENTITY_PLAYER, GAME_PACKET_LISTENER, "connection", true, "f", "c", "b", "g", "playerConnection");
@@ -287,10 +327,19 @@ public final class PacketStand {
         DWO_TEXT_ID = Reflection.getFieldValue(Reflection.getField(ENTITY_TEXT_DISPLAY, DATA_WATCHER_OBJECT, dwoData.displayText, true, "DATA_TEXT_ID"));
         DWO_BACKGROUND_COLOR_ID = Reflection.getFieldValue(Reflection.getField(ENTITY_TEXT_DISPLAY, DATA_WATCHER_OBJECT, dwoData.displayBackgroundColor, true, "DATA_BACKGROUND_COLOR_ID"));
         ZERO = Reflection.getFieldValue(Reflection.getField(VEC_3D, VEC_3D, "a", true, "b", "c", "ZERO"));
+
+        // The item display accessors are created from their position relative to the scale, which has been the same since 1.19.4.
+        DWO_TRANSLATION_ID = createDisplayAccessor(-1, Vector3f.class);
+        DWO_LEFT_ROTATION_ID = createDisplayAccessor(1, Quaternionf.class);
+        DWO_ITEM_ID = createDisplayAccessor(11, ITEM_STACK);
+        DWO_ITEM_DISPLAY_ID = createDisplayAccessor(12, Byte.class);
+        // Added in 1.20.2, before the translation.
+        DWO_TELEPORT_DURATION_ID = XReflection.supports(20, 2) ? createDisplayAccessor(-2, Integer.class) : null;
         ARMOR_STAND = getType(EntityType.ARMOR_STAND);
         ARMOR_STAND_TYPE_ID = getTypeId(ARMOR_STAND);
         TEXT_DISPLAY = display ? getType(EntityType.TEXT_DISPLAY) : null;
         TEXT_DISPLAY_TYPE_ID = TEXT_DISPLAY != null ? getTypeId(TEXT_DISPLAY) : -1;
+        ITEM_DISPLAY = display ? getType(EntityType.ITEM_DISPLAY) : null;
         ITEM = XReflection.supports(20, 6) ? Reflection.getFieldValue(Reflection.getField(BUILT_IN_REGISTRIES, DEFAULTED_REGISTRY, "h", true, "ITEM")) : null;
 
         if (XReflection.supports(20, 6)) {
@@ -310,25 +359,53 @@ public final class PacketStand {
     }
 
     public PacketStand(RoulettePlugin plugin, @NotNull Location location, StandSettings settings, boolean isStand) {
+        this(plugin, location, settings, isStand, false);
+    }
+
+    /**
+     * @param isItemDisplay whether to render the helmet of this stand with an item display (only if {@code isStand} is false).
+     */
+    public PacketStand(RoulettePlugin plugin, @NotNull Location location, StandSettings settings, boolean isStand, boolean isItemDisplay) {
         this.plugin = plugin;
         this.id = SpigotReflectionUtil.generateEntityId();
         this.uniqueId = UUID.randomUUID();
         this.settings = settings;
         this.isStand = isStand;
+        this.isItemDisplay = !isStand && isItemDisplay;
         invalidTeleport(location);
+        markSent();
     }
 
     public void spawn(@NotNull Player player) {
         if (destroyed) return;
 
-        // There's no need to send a teleport packet when spawning.
+        // The spawn packet is kept while moving, so the teleport is only needed if the stand moved since it was created.
         Object connection = getPlayerConnection(player);
-        sendPacket(connection, createSpawnPacket(), createMetadata());
+        sendPacket(connection, createSpawnPacket(), movedSinceSpawn() ? createTeleport() : null, createMetadata());
         sendPacket(connection, createEquipment().toArray());
     }
 
+    /**
+     * Adds the packets needed to spawn this stand to the given list, instead of sending them.
+     */
+    void collectSpawn(@NotNull List<Object> packets) {
+        if (destroyed) return;
+
+        // The spawn packet is kept while moving, so the teleport is only needed if the stand moved since it was created.
+        packets.add(createSpawnPacket());
+        if (movedSinceSpawn()) packets.add(createTeleport());
+        packets.add(createMetadata());
+        packets.addAll(createEquipment());
+    }
+
     private Object createSpawnPacket() {
-        return spawn != null ? spawn : (spawn = MINOR_NUMBER > 18 ? after18SpawnPacket() : before18SpawnPacket());
+        if (spawn != null) return spawn;
+        spawnLocation = location.clone();
+        return (spawn = MINOR_NUMBER > 18 ? after18SpawnPacket() : before18SpawnPacket());
+    }
+
+    private boolean movedSinceSpawn() {
+        return spawnLocation != null && !spawnLocation.equals(location);
     }
 
     private @Nullable Object after18SpawnPacket() {
@@ -344,7 +421,7 @@ public final class PacketStand {
                     clampXZ(location.getZ()),
                     !Float.isFinite(pitch) ? 0.0f : pitch,
                     !Float.isFinite(yaw) ? 0.0f : yaw,
-                    isStand ? ARMOR_STAND : TEXT_DISPLAY,
+                    isStand ? ARMOR_STAND : isItemDisplay ? ITEM_DISPLAY : TEXT_DISPLAY,
                     0,
                     ZERO,
                     location.getYaw());
@@ -413,6 +490,7 @@ public final class PacketStand {
 
     public void teleport(Collection<Player> players, Location location) {
         if (invalidTeleport(location)) return;
+        markSent();
         if (players.isEmpty()) return;
 
         // No need to send a head rotation packet (RotateHeadPacket/EntityHeadRotation).
@@ -422,9 +500,75 @@ public final class PacketStand {
     public void teleport(Player player, Location location) {
         if (invalidTeleport(location)) return;
 
+        // The other players don't know about this position, the next move must be a teleport.
+        sentKnown = false;
         sendLocation(player);
     }
 
+    /**
+     * Moves this stand for the given players, sending only a rotation, or a relative move (with or without rotation) when possible.
+     * <p>
+     * A teleport is only sent when the distance is too big for a relative move, or the position of the players isn't known.
+     */
+    public void move(@NotNull Collection<Player> players, @NotNull Location location) {
+        if (!sentKnown) {
+            teleport(players, location);
+            return;
+        }
+
+        long previousX = sentX, previousY = sentY, previousZ = sentZ;
+        byte previousYaw = sentYaw, previousPitch = sentPitch;
+
+        if (invalidTeleport(location)) return;
+        markSent();
+
+        long deltaX = sentX - previousX, deltaY = sentY - previousY, deltaZ = sentZ - previousZ;
+        boolean moved = deltaX != 0L || deltaY != 0L || deltaZ != 0L;
+        boolean rotated = sentYaw != previousYaw || sentPitch != previousPitch;
+
+        // Nothing changed for the players.
+        if (!moved && !rotated) return;
+        if (players.isEmpty() || invalid()) return;
+
+        if (!fitsRelativeMove(deltaX) || !fitsRelativeMove(deltaY) || !fitsRelativeMove(deltaZ)) {
+            sendPacket(players, createTeleport());
+            return;
+        }
+
+        // The deltas are sent as blocks; since they're multiples of 1/4096, the wrapper encodes them back without losing precision.
+        double x = deltaX / RELATIVE_MOVE_SCALE, y = deltaY / RELATIVE_MOVE_SCALE, z = deltaZ / RELATIVE_MOVE_SCALE;
+        float yaw = this.location.getYaw(), pitch = this.location.getPitch();
+
+        PacketWrapper<?> wrapper;
+        if (!moved) {
+            wrapper = new WrapperPlayServerEntityRotation(id, yaw, pitch, false);
+        } else if (!rotated) {
+            wrapper = new WrapperPlayServerEntityRelativeMove(id, x, y, z, false);
+        } else {
+            wrapper = new WrapperPlayServerEntityRelativeMoveAndRotation(id, x, y, z, yaw, pitch, false);
+        }
+
+        // Same packet for every player, encoded once.
+        PacketBroadcast.send(players, wrapper);
+    }
+
+    private void markSent() {
+        sentX = encodePosition(location.getX());
+        sentY = encodePosition(location.getY());
+        sentZ = encodePosition(location.getZ());
+        sentYaw = yaw;
+        sentPitch = pitch;
+        sentKnown = true;
+    }
+
+    private static long encodePosition(double value) {
+        return Math.round(value * RELATIVE_MOVE_SCALE);
+    }
+
+    private static boolean fitsRelativeMove(long delta) {
+        return delta >= Short.MIN_VALUE && delta <= Short.MAX_VALUE;
+    }
+
     private boolean invalidTeleport(@NotNull Location location) {
         World world = location.getWorld();
         if (this.world != null && (world == null || !Objects.equals(world, this.world))) return true;
@@ -434,7 +578,7 @@ public final class PacketStand {
         this.pitch = (byte) (location.getPitch() * 256.0f / 360.0f);
         this.world = world;
 
-        spawn = null;
+        // The spawn packet is kept, a teleport is sent after it when needed.
         teleport = null;
         rotation = null;
 
@@ -473,6 +617,12 @@ public final class PacketStand {
     }
 
     public void sendEquipment(@NotNull Collection<Player> players) {
+        // The item of an item display is part of its metadata.
+        if (isItemDisplay) {
+            sendMetadata(players);
+            return;
+        }
+
         equipments = null;
         if (players.isEmpty()) return;
 
@@ -482,7 +632,10 @@ public final class PacketStand {
 
     public @Nullable Object createMetadata() {
         if (metadata != null) return metadata;
+        return (metadata = createMetadata(getMetadataValues()));
+    }
 
+    private @Nullable Object createMetadata(@NotNull Map<Object, Object> values) {
         try {
             Object packetSerializer;
             if (XReflection.supports(20, 6)) {
@@ -494,7 +647,8 @@ public final class PacketStand {
 
             writeInt.invoke(packetSerializer, id);
 
-            for (Object item : getDataWatcherItems()) {
+            for (Map.Entry<Object, Object> entry : values.entrySet()) {
+                Object item = createDataWatcherItem(entry.getKey(), entry.getValue());
                 if (!item.getClass().isAssignableFrom(DATA_WATCHER_ITEM)) continue;
 
                 Object object = getObject.invoke(item);
@@ -515,65 +669,147 @@ public final class PacketStand {
             }
 
             writeByte.invoke(packetSerializer, 0xff);
-            return (metadata = packetEntityMetadata.invoke(packetSerializer));
+            return packetEntityMetadata.invoke(packetSerializer);
         } catch (Throwable throwable) {
             throw new RuntimeException("Failed to create a packet!", throwable);
         }
     }
 
-    private @NotNull List<Object> getDataWatcherItems() {
+    /**
+     * @return the metadata of this stand (by data watcher object), as plain values, so they can be compared with the ones sent before.
+     */
+    private @NotNull Map<Object, Object> getMetadataValues() {
+        Map<Object, Object> values = new LinkedHashMap<>();
+        String name = settings.getCustomName();
+
+        if (isStand) {
+            values.put(DWO_ENTITY_DATA, (byte)
+                    ((settings.isFire() ? 0x01 : 0)
+                            | (settings.isInvisible() ? 0x20 : 0)
+                            | (settings.isGlow() ? 0x40 : 0)));
+
+            values.put(DWO_ARMOR_STAND_DATA, (byte)
+                    ((settings.isSmall() ? 0x01 : 0)
+                            | (settings.isArms() ? 0x04 : 0)
+                            | (settings.isBasePlate() ? 0 : 0x08)
+                            | (settings.isMarker() ? 0x10 : 0)));
+
+            for (Pose pose : Pose.values()) {
+                values.put(pose.getDwo(), pose.get(settings));
+            }
+
+            values.put(DWO_CUSTOM_NAME, Strings.nullToEmpty(name));
+            values.put(DWO_CUSTOM_NAME_VISIBLE, settings.isCustomNameVisible());
+        } else if (isItemDisplay) {
+            values.put(DWO_ENTITY_DATA, (byte) (settings.isGlow() ? 0x40 : 0));
+            putItemDisplayTransformation(values);
+
+            ItemStack helmet = settings.getEquipment().get(ItemSlot.HEAD);
+            values.put(DWO_ITEM_ID, helmet != null ? helmet.clone() : RoulettePlugin.EMPTY_ITEM);
+            values.put(DWO_ITEM_DISPLAY_ID, ITEM_DISPLAY_HEAD);
+
+            if (DWO_TELEPORT_DURATION_ID != null) {
+                values.put(DWO_TELEPORT_DURATION_ID, settings.getTeleportDuration());
+            }
+        } else {
+            values.put(DWO_SCALE_ID, settings.getScale().clone());
+            values.put(DWO_TEXT_ID, Strings.nullToEmpty(name));
+            values.put(DWO_BACKGROUND_COLOR_ID, settings.getBackgroundColor());
+        }
+
+        return values;
+    }
+
+    /**
+     * Places the item like the helmet of an armor stand (at the neck, rotated by the head pose) using the transformation of the display.
+     */
+    private void putItemDisplayTransformation(@NotNull Map<Object, Object> values) {
+        float scale = settings.isSmall() ? 0.5f : 1.0f;
+
+        // Armor stand models are mirrored in X and Y, and item displays are rotated 180 degrees in Y.
+        EulerAngle head = settings.getHeadPose();
+        Quaternionf rotation = new Quaternionf()
+                .rotateZ((float) -head.getZ())
+                .rotateY((float) -head.getY())
+                .rotateX((float) head.getX());
+
+        // The helmet is rendered a bit above the neck, so that offset is rotated with the head.
+        Vector3f translation = rotation.transform(new Vector3f(0.0f, HELMET_OFFSET * scale, 0.0f))
+                .add(0.0f, NECK_HEIGHT * scale, 0.0f);
+
+        values.put(DWO_TRANSLATION_ID, translation);
+        values.put(DWO_LEFT_ROTATION_ID, rotation);
+        values.put(DWO_SCALE_ID, new Vector3f(HELMET_SCALE * scale));
+    }
+
+    private Object createDataWatcherItem(Object dwo, Object value) {
         try {
-            List<Object> dataWatcherItems = new ArrayList<>();
-            String name = settings.getCustomName();
-
-            if (isStand) {
-                dataWatcherItems.add(dataWatcherItem.invoke(DWO_ENTITY_DATA, (byte)
-                        ((settings.isFire() ? 0x01 : 0)
-                                | (settings.isInvisible() ? 0x20 : 0)
-                                | (settings.isGlow() ? 0x40 : 0))));
-
-                dataWatcherItems.add(dataWatcherItem.invoke(DWO_ARMOR_STAND_DATA, (byte)
-                        ((settings.isSmall() ? 0x01 : 0)
-                                | (settings.isArms() ? 0x04 : 0)
-                                | (settings.isBasePlate() ? 0 : 0x08)
-                                | (settings.isMarker() ? 0x10 : 0))));
-
-                for (Pose pose : Pose.values()) {
-                    addPoses(dataWatcherItems, pose.getDwo(), pose.get(settings));
-                }
+            if (value instanceof ItemStack item) {
+                return dataWatcherItem.invoke(dwo, asNMSCopy.invoke(item));
+            }
 
-                Optional<Object> optionalName = Optional.ofNullable(name != null && !name.isEmpty() ? fromStringOrNull.invoke(name) : null);
-                dataWatcherItems.add(dataWatcherItem.invoke(DWO_CUSTOM_NAME, optionalName));
-                dataWatcherItems.add(dataWatcherItem.invoke(DWO_CUSTOM_NAME_VISIBLE, settings.isCustomNameVisible()));
-            } else {
-                Vector scale = settings.getScale();
-                dataWatcherItems.add(dataWatcherItem.invoke(DWO_SCALE_ID, new Vector3f(
+            if (value instanceof EulerAngle angle) {
+                return dataWatcherItem.invoke(dwo, vector3f.invoke(
+                        (float) Math.toDegrees(angle.getX()),
+                        (float) Math.toDegrees(angle.getY()),
+                        (float) Math.toDegrees(angle.getZ())));
+            }
+
+            if (value instanceof Vector scale) {
+                return dataWatcherItem.invoke(dwo, new Vector3f(
                         (float) scale.getX(),
                         (float) scale.getY(),
-                        (float) scale.getZ())));
-                dataWatcherItems.add(dataWatcherItem.invoke(DWO_TEXT_ID, fromStringOrNull.invoke(Strings.nullToEmpty(name))));
-                dataWatcherItems.add(dataWatcherItem.invoke(DWO_BACKGROUND_COLOR_ID, settings.getBackgroundColor()));
+                        (float) scale.getZ()));
+            }
+
+            if (dwo == DWO_CUSTOM_NAME) {
+                String name = (String) value;
+                Optional<Object> optionalName = Optional.ofNullable(!name.isEmpty() ? fromStringOrNull.invoke(name) : null);
+                return dataWatcherItem.invoke(dwo, optionalName);
             }
 
-            return dataWatcherItems;
+            if (dwo == DWO_TEXT_ID) {
+                return dataWatcherItem.invoke(dwo, fromStringOrNull.invoke((String) value));
+            }
+
+            return dataWatcherItem.invoke(dwo, value);
         } catch (Throwable throwable) {
             throw new RuntimeException("Failed to create a packet!", throwable);
         }
     }
 
-    private void addPoses(@NotNull List<Object> dataWatcherItems, Object dwoObject, @NotNull EulerAngle angle) throws Throwable {
-        dataWatcherItems.add(dataWatcherItem.invoke(dwoObject, vector3f.invoke(
-                (float) Math.toDegrees(angle.getX()),
-                (float) Math.toDegrees(angle.getY()),
-                (float) Math.toDegrees(angle.getZ()))));
-    }
-
     public void sendMetadata(@NotNull Collection<Player> players) {
         metadata = null;
         if (players.isEmpty()) return;
 
+        Set<UUID> recipients = new HashSet<>(players.size());
+        for (Player player : players) {
+            recipients.add(player.getUniqueId());
+        }
+
+        // Only the values that changed since the last time are sent, or nothing at all if none did.
+        // A player that didn't receive the last values may have missed a change, so different players get all of them.
+        Map<Object, Object> values = getMetadataValues();
+        Map<Object, Object> changed = recipients.equals(sentTo) ? getChangedValues(values) : values;
+        if (changed.isEmpty()) return;
+
+        sent = values;
+        sentTo = recipients;
+
         // Create the packet once and send it to the players.
-        sendPacket(players, createMetadata());
+        sendPacket(players, changed == values ? createMetadata() : createMetadata(changed));
+    }
+
+    private @NotNull Map<Object, Object> getChangedValues(Map<Object, Object> values) {
+        if (sent == null) return values;
+
+        Map<Object, Object> changed = new LinkedHashMap<>();
+        for (Map.Entry<Object, Object> entry : values.entrySet()) {
+            if (!Objects.equals(sent.get(entry.getKey()), entry.getValue())) {
+                changed.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return changed;
     }
 
     public void sendMetadata(Player player) {
@@ -600,6 +836,55 @@ public final class PacketStand {
         sendPacket(player, createDestroyEntitiesPacket());
     }
 
+    /**
+     * Creates the packets to destroy all the given entities at once.
+     */
+    static @NotNull List<Object> createDestroyEntitiesPacket(int @NotNull [] ids) {
+        try {
+            // In 1.17 (755) the packet only accepts one entity.
+            if (PROTOCOL != 755) return List.of(packetEntityDestroy.invoke(ids));
+
+            List<Object> packets = new ArrayList<>(ids.length);
+            for (int id : ids) {
+                packets.add(packetEntityDestroy.invoke(id));
+            }
+            return packets;
+        } catch (Throwable throwable) {
+            throw new RuntimeException("Failed to create a packet!", throwable);
+        }
+    }
+
+    /**
+     * Sends the given packets to the player; since 1.19.4 they're wrapped in bundles, so the client handles them in the same tick.
+     */
+    static void sendBundled(@NotNull Player player, @NotNull List<Object> packets) {
+        if (packets.isEmpty()) return;
+
+        Object connection = getPlayerConnection(player);
+        if (connection == null) return;
+
+        try {
+            if (packetBundle == null) {
+                for (Object packet : packets) {
+                    if (packet != null) sendPacket.invoke(connection, packet);
+                }
+                return;
+            }
+
+            List<Object> nonNull = packets.stream()
+                    .filter(Objects::nonNull)
+                    .toList();
+
+            // The client refuses bundles with more than 4096 packets.
+            for (int from = 0; from < nonNull.size(); from += MAX_BUNDLE_SIZE) {
+                List<Object> bundle = nonNull.subList(from, Math.min(from + MAX_BUNDLE_SIZE, nonNull.size()));
+                sendPacket.invoke(connection, packetBundle.invoke(bundle));
+            }
+        } catch (Throwable throwable) {
+            throw new RuntimeException("Failed to send a packet!", throwable);
+        }
+    }
+
     private void sendPacket(@NotNull Collection<Player> players, Object... packets) {
         for (Player player : players) {
             sendPacket(player, packets);
@@ -625,7 +910,7 @@ public final class PacketStand {
         }
     }
 
-    private @Nullable Object getPlayerConnection(Player player) {
+    private static @Nullable Object getPlayerConnection(Player player) {
         try {
             Object handle = getHandle.invoke(player);
             return CONNECTION.invoke(handle);
@@ -634,6 +919,50 @@ public final class PacketStand {
         }
     }
 
+    public static boolean supportsItemDisplays() {
+        return ITEM_DISPLAY != null
+                && DWO_TRANSLATION_ID != null
+                && DWO_LEFT_ROTATION_ID != null
+                && DWO_ITEM_ID != null
+                && DWO_ITEM_DISPLAY_ID != null;
+    }
+
+    /**
+     * @return whether the client interpolates the moves of this stand over {@link StandSettings#getTeleportDuration()} ticks.
+     */
+    public boolean supportsTeleportDuration() {
+        return isItemDisplay && DWO_TELEPORT_DURATION_ID != null;
+    }
+
+    private static @Nullable Object createDisplayAccessor(int offsetFromScale, Class<?> type) {
+        if (DWO_SCALE_ID == null || dataWatcherObject == null || type == null) return null;
+
+        try {
+            Object serializer = findSerializer(type);
+            if (serializer == null) return null;
+
+            int index = (int) getIndex.invoke(DWO_SCALE_ID) + offsetFromScale;
+            return dataWatcherObject.invoke(index, serializer);
+        } catch (Throwable throwable) {
+            throwable.printStackTrace();
+            return null;
+        }
+    }
+
+    private static @Nullable Object findSerializer(Class<?> type) throws IllegalAccessException {
+        // The serializers are found by their generic type, since the names of the fields change between versions.
+        for (Field field : DATA_WATCHER_REGISTRY.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) continue;
+            if (!DATA_WATCHER_SERIALIZER.isAssignableFrom(field.getType())) continue;
+            if (!(field.getGenericType() instanceof ParameterizedType parameterized)) continue;
+            if (parameterized.getActualTypeArguments()[0] != type) continue;
+
+            field.setAccessible(true);
+            return field.get(null);
+        }
+        return null;
+    }
+
     private static @Nullable Object getType(EntityType type) {
         try {
             @SuppressWarnings("deprecation") Optional<?> optional = (Optional<?>) byString.invoke(type.getName());
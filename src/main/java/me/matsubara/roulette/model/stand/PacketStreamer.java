@@ -0,0 +1,128 @@
+package me.matsubara.roulette.model.stand;
+
+import me.matsubara.roulette.RoulettePlugin;
+import me.matsubara.roulette.file.Config;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Spawns stands progressively: the spawns are queued per player (nearest first) and every tick
+ * only a limited amount of packets (render-packets-per-tick) is sent to each player.
+ * <p>
+ * Destroys are sent right away, and cancel the spawns still queued for the same owner.
+ */
+public final class PacketStreamer implements Runnable {
+
+    private final RoulettePlugin plugin;
+    private final Map<UUID, PlayerQueue> queues = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public PacketStreamer(@NotNull RoulettePlugin plugin) {
+        this.plugin = plugin;
+        plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, this, 1L, 1L);
+    }
+
+    /**
+     * Queues the spawn of the given stands (in order) for the player, replacing the ones queued for the same owner.
+     *
+     * @param owner    what the stands belong to (like a game), used to cancel them.
+     * @param distance the distance to the owner, the nearest ones are sent first.
+     */
+    public void queueSpawn(@NotNull Player player, Object owner, double distance, @NotNull List<PacketStand> stands) {
+        if (stands.isEmpty()) return;
+
+        Pending spawn = new Pending(owner, distance, sequence.getAndIncrement(), new ArrayDeque<>(stands));
+
+        // Computed atomically, so the queue can't be removed (when empty) while adding to it.
+        queues.compute(player.getUniqueId(), (uuid, queue) -> {
+            if (queue == null) queue = new PlayerQueue(player);
+            synchronized (queue) {
+                queue.cancel(owner);
+                queue.pending.add(spawn);
+            }
+            return queue;
+        });
+    }
+
+    /**
+     * Destroys the given stands for the player right away, cancelling the spawns still queued for the same owner.
+     */
+    public void destroy(@NotNull Player player, Object owner, @NotNull Collection<PacketStand> stands) {
+        PacketBatch batch = new PacketBatch(plugin, player);
+        stands.forEach(batch::destroy);
+
+        PlayerQueue queue = queues.get(player.getUniqueId());
+        if (queue == null) {
+            batch.flush();
+            return;
+        }
+
+        // Sent while holding the queue, so a spawn being streamed can't arrive after the destroy.
+        synchronized (queue) {
+            queue.cancel(owner);
+            batch.flush();
+        }
+    }
+
+    public void remove(@NotNull Player player) {
+        queues.remove(player.getUniqueId());
+    }
+
+    @Override
+    public void run() {
+        if (queues.isEmpty()) return;
+
+        int budget = Config.RENDER_PACKETS_PER_TICK.asInt();
+
+        for (Map.Entry<UUID, PlayerQueue> entry : queues.entrySet()) {
+            PlayerQueue queue = entry.getValue();
+
+            PacketBatch batch = new PacketBatch(plugin, queue.player);
+            synchronized (queue) {
+                queue.drain(batch, budget);
+                batch.flush();
+            }
+
+            queues.computeIfPresent(entry.getKey(), (uuid, temp) -> {
+                synchronized (temp) {
+                    return temp.pending.isEmpty() ? null : temp;
+                }
+            });
+        }
+    }
+
+    private static final class PlayerQueue {
+
+        private final Player player;
+        private final PriorityQueue<Pending> pending = new PriorityQueue<>(Comparator
+                .comparingDouble(Pending::distance)
+                .thenComparingLong(Pending::sequence));
+
+        private PlayerQueue(Player player) {
+            this.player = player;
+        }
+
+        private void cancel(Object owner) {
+            pending.removeIf(temp -> temp.owner().equals(owner));
+        }
+
+        private void drain(PacketBatch batch, int budget) {
+            // A budget of 0 (or less) means no limit; at least one stand is sent every tick.
+            while (!pending.isEmpty() && (budget <= 0 || batch.size() < budget)) {
+                Pending first = pending.peek();
+
+                PacketStand stand = first.stands().poll();
+                if (stand != null) batch.spawn(stand);
+
+                if (first.stands().isEmpty()) pending.poll();
+            }
+        }
+    }
+
+    private record Pending(Object owner, double distance, long sequence, Queue<PacketStand> stands) {
+    }
+}
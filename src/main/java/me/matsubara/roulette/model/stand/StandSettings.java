@@ -38,6 +38,7 @@ public final class StandSettings implements Cloneable {
     private boolean customNameVisible;
     private Vector scale;
     private int backgroundColor;
+    private int teleportDuration;
 
     // Entity poses.
     private EulerAngle headPose;
@@ -64,6 +65,7 @@ public final class StandSettings implements Cloneable {
         this.customNameVisible = false;
         this.scale = new Vector(1.0f, 1.0f, 1.0f);
         this.backgroundColor = 1073741824;
+        this.teleportDuration = 0;
 
         // Default poses.
         for (Pose pose : Pose.values()) {
@@ -147,7 +147,7 @@ public final class ArmorStandAnimator {
         if (frame != null) {
             Location newLocation = this.location.clone().add(frame.getX(), frame.getY(), frame.getZ());
             newLocation.setYaw(frame.getRotation() + newLocation.getYaw());
-            this.stand.teleport(seeing, newLocation);
+            this.stand.move(seeing, newLocation);
 
             StandSettings settings = this.stand.getSettings();
             settings.setLeftLegPose(frame.getLeftLeg());
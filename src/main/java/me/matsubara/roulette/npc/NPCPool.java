@@ -6,8 +6,11 @@ import me.matsubara.roulette.RoulettePlugin;
 import me.matsubara.roulette.file.Messages;
 import me.matsubara.roulette.game.Game;
 import me.matsubara.roulette.game.GameState;
+import me.matsubara.roulette.util.ChunkGrid;
+import me.matsubara.roulette.util.MoveTracker;
 import me.matsubara.roulette.util.ParrotUtils;
-import me.matsubara.roulette.util.PluginUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.Server;
 import org.bukkit.World;
@@ -15,19 +18,27 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.*;
+import org.bukkit.event.world.ChunkLoadEvent;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Getter
 public class NPCPool implements Listener, Runnable {
 
     private final RoulettePlugin plugin;
     private final Map<Integer, NPC> npcMap = new ConcurrentHashMap<>();
+    private final ChunkGrid<NPC> grid = new ChunkGrid<>();
+    private final MoveTracker tracker = new MoveTracker(MOVE_THRESHOLD);
+
+    // The NPCs whose chunk has been loaded, to check them again for the players that didn't move.
+    private final Set<NPC> loaded = ConcurrentHashMap.newKeySet();
 
     private static final float FOV_YAW = 85.0f;
     private static final float FOV_PITCH = 45.0f;
+    private static final double MOVE_THRESHOLD = 1.0d;
 
     public NPCPool(RoulettePlugin plugin) {
         this.plugin = plugin;
@@ -38,6 +49,39 @@ public class NPCPool implements Listener, Runnable {
 
     @Override
     public void run() {
+        double range = Math.sqrt(plugin.getStandManager().getRenderDistance()) + MOVE_THRESHOLD;
+        List<Player> players = List.copyOf(Bukkit.getOnlinePlayers());
+
+        // These NPCs may have been hidden while their chunk was unloaded.
+        for (NPC npc : List.copyOf(loaded)) {
+            loaded.remove(npc);
+            for (Player player : players) {
+                handleVisibility(player, player.getLocation(), npc);
+            }
+        }
+
+        for (Player player : players) {
+            Location location = player.getLocation();
+
+            Location last = tracker.getLast(player);
+            if (tracker.hasMoved(last, location)) {
+                tracker.update(player, location);
+
+                // Only the NPCs around the player (and the ones around the previous location, in case they have to be hidden).
+                for (NPC npc : grid.getNearby(location, last, range)) {
+                    handleVisibility(player, location, npc);
+                }
+                continue;
+            }
+
+            // The visibility didn't change, but the NPCs around can still look at the player.
+            for (NPC npc : grid.getNearby(location, range)) {
+                if (!handleFOV(npc, player, location)) {
+                    npc.removeFOV(player);
+                }
+            }
+        }
+
         for (NPC npc : npcMap.values()) {
             Game game = npc.getGame();
             Location location = npc.getLocation();
@@ -45,13 +89,9 @@ public class NPCPool implements Listener, Runnable {
             World world = location.getWorld();
             if (world == null) continue;
 
-            for (Player player : List.copyOf(world.getPlayers())) {
-                handleVisibility(player, player.getLocation(), npc);
-            }
-
             boolean playParrotSound = game.isParrotEnabled()
                     && game.isParrotSounds()
-                    && PluginUtils.RANDOM.nextInt(100) == 0;
+                    && ThreadLocalRandom.current().nextInt(100) == 0;
 
             if (!playParrotSound) continue;
 
@@ -74,6 +114,7 @@ public class NPCPool implements Listener, Runnable {
 
     protected void takeCareOf(NPC npc) {
         npcMap.put(npc.getEntityId(), npc);
+        grid.add(npc, npc.getLocation());
     }
 
     public Optional<NPC> getNPC(int entityId) {
@@ -83,6 +124,8 @@ public class NPCPool implements Listener, Runnable {
     public void removeNPC(int entityId) {
         getNPC(entityId).ifPresent(npc -> {
             npcMap.remove(entityId);
+            grid.remove(npc);
+            loaded.remove(npc);
             npc.getSeeingPlayers().forEach(npc::hide);
         });
     }
@@ -172,6 +215,12 @@ public class NPCPool implements Listener, Runnable {
         return true;
     }
 
+    @EventHandler
+    public void onChunkLoad(@NotNull ChunkLoadEvent event) {
+        Chunk chunk = event.getChunk();
+        loaded.addAll(grid.getInChunk(chunk.getWorld(), chunk.getX(), chunk.getZ()));
+    }
+
     @EventHandler
     public void onPlayerTeleport(@NotNull PlayerTeleportEvent event) {
         handleEventVisibility(event);
@@ -202,6 +251,7 @@ public class NPCPool implements Listener, Runnable {
     @EventHandler
     public void handleQuit(@NotNull PlayerQuitEvent event) {
         Player player = event.getPlayer();
+        tracker.remove(player);
 
         npcMap.values().stream()
                 .filter(npc -> npc.isShownFor(player))
@@ -1,9 +1,11 @@
 package me.matsubara.roulette.npc.modifier;
 
 import com.github.retrooper.packetevents.PacketEvents;
+import com.github.retrooper.packetevents.protocol.player.User;
 import com.github.retrooper.packetevents.wrapper.PacketWrapper;
 import lombok.Getter;
 import me.matsubara.roulette.npc.NPC;
+import me.matsubara.roulette.util.PacketBroadcast;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
@@ -25,8 +27,7 @@ public class NPCModifier {
     }
 
     protected void queueInstantly(@NotNull LazyPacket packet) {
-        PacketWrapper<? extends @NotNull PacketWrapper<?>> container = packet.provide(npc, null);
-        packetContainers.add((npc, player) -> container);
+        packetContainers.add(new SharedPacket(packet.provide(npc, null)));
     }
 
     public void send() {
@@ -34,12 +35,21 @@ public class NPCModifier {
     }
 
     public void send(@NotNull Iterable<? extends Player> players) {
-        players.forEach(player -> {
-            for (LazyPacket packet : packetContainers) {
-                Object channel = PacketEvents.getAPI().getPlayerManager().getChannel(player);
-                PacketEvents.getAPI().getProtocolManager().sendPacket(channel, packet.provide(npc, player));
+        List<User> users = PacketBroadcast.getUsers(players);
+
+        for (LazyPacket packet : packetContainers) {
+            // The same packet for every player, encoded once.
+            if (packet instanceof SharedPacket shared) {
+                PacketBroadcast.send(users, shared.container());
+                continue;
+            }
+
+            // Provided per player.
+            for (Player player : players) {
+                PacketEvents.getAPI().getPlayerManager().sendPacket(player, packet.provide(npc, player));
             }
-        });
+        }
+
         packetContainers.clear();
     }
 
@@ -47,6 +57,14 @@ public class NPCModifier {
         send(Arrays.asList(players));
     }
 
+    private record SharedPacket(PacketWrapper<? extends @NotNull PacketWrapper<?>> container) implements LazyPacket {
+
+        @Override
+        public PacketWrapper<? extends @NotNull PacketWrapper<?>> provide(NPC npc, Player player) {
+            return container;
+        }
+    }
+
     public interface LazyPacket {
 
         PacketWrapper<? extends @NotNull PacketWrapper<?>> provide(NPC npc, Player player);
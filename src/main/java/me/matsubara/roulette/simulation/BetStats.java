@@ -0,0 +1,33 @@
+package me.matsubara.roulette.simulation;
+
+/**
+ * The results of a kind of bet after simulating many rounds, betting 1 every round.
+ *
+ * @param name     the name of the bet.
+ * @param bets     the amount of bets placed.
+ * @param returned the money given back to the player (including the stake).
+ * @param squares  the sum of the squared net result of every bet, to calculate the variance.
+ */
+public record BetStats(String name, long bets, double returned, double squares) {
+
+    /**
+     * @return the percentage of the money bet that is given back to the player.
+     */
+    public double getReturnToPlayer() {
+        return bets == 0L ? 0.0d : returned / bets;
+    }
+
+    public double getHouseEdge() {
+        return 1.0d - getReturnToPlayer();
+    }
+
+    /**
+     * @return the variance of the net result of a single bet.
+     */
+    public double getVariance() {
+        if (bets == 0L) return 0.0d;
+
+        double mean = getReturnToPlayer() - 1.0d;
+        return squares / bets - mean * mean;
+    }
+}
@@ -0,0 +1,209 @@
+package me.matsubara.roulette.simulation;
+
+import me.matsubara.roulette.game.GameRule;
+import me.matsubara.roulette.game.GameType;
+import me.matsubara.roulette.game.data.Slot;
+import me.matsubara.roulette.game.data.SlotTopology;
+import me.matsubara.roulette.game.data.WinData;
+import me.matsubara.roulette.game.data.WinTable;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Simulates rounds of a table without a server, to check the return to player of every kind of bet
+ * with the rules, the disabled slots and the multipliers of the table.
+ * <p>
+ * The bets are resolved with the same {@link WinTable} used by the games, and paid with {@link WinData.WinType#getMoney(double, double)}.
+ */
+public final class RoundSimulator {
+
+    private final GameType type;
+    private final Set<GameRule> rules;
+
+    // The numbers that can win.
+    private final Slot[] singles;
+
+    // The win table for every winner (by index in the singles).
+    private final WinTable[] tables;
+
+    // The multiplier of every slot (by ordinal).
+    private final double[] multipliers;
+
+    // The kinds of bets; a random slot of the kind is chosen every round.
+    private final String[] names;
+    private final Slot[][] bets;
+
+    // Rounds simulated by a single task, before splitting it.
+    private static final long THRESHOLD = 50_000L;
+
+    public static final long DEFAULT_ROUNDS = 1_000_000L;
+
+    public RoundSimulator(@NotNull GameType type, @NotNull Set<GameRule> rules, @NotNull Collection<Slot> disabled, @NotNull Map<Slot, Double> multipliers) {
+        this.type = type;
+        this.rules = rules.isEmpty() ? EnumSet.noneOf(GameRule.class) : EnumSet.copyOf(rules);
+
+        // Same slots as a table with these disabled slots.
+        SlotTopology topology = new SlotTopology(type, disabled);
+        this.singles = topology.getSingles();
+        if (singles.length == 0) throw new IllegalArgumentException("There are no numbers to spin!");
+
+        this.tables = new WinTable[singles.length];
+        for (int i = 0; i < singles.length; i++) {
+            tables[i] = WinTable.compile(type, this.rules::contains, singles[i]);
+        }
+
+        Slot[] values = Slot.values();
+        this.multipliers = new double[values.length];
+        for (Slot slot : values) {
+            this.multipliers[slot.ordinal()] = multipliers.getOrDefault(slot, slot.getDefaultMultiplier(type));
+        }
+
+        // All the single numbers are the same kind of bet, the other slots are a kind each.
+        List<String> names = new ArrayList<>(List.of("SINGLE"));
+        List<Slot[]> bets = new ArrayList<>(Collections.singletonList(singles));
+        for (Slot slot : topology.getSlots()) {
+            if (slot.isSingle()) continue;
+            names.add(slot.name());
+            bets.add(new Slot[]{slot});
+        }
+
+        this.names = names.toArray(String[]::new);
+        this.bets = bets.toArray(Slot[][]::new);
+    }
+
+    /**
+     * Simulates the given rounds in the common fork/join pool, placing every kind of bet each round.
+     */
+    public @NotNull List<BetStats> run(long rounds, long seed) {
+        Totals totals = ForkJoinPool.commonPool().invoke(new SimulationTask(new SplittableRandom(seed), Math.max(1L, rounds)));
+
+        List<BetStats> stats = new ArrayList<>(names.length);
+        for (int i = 0; i < names.length; i++) {
+            stats.add(new BetStats(names[i], totals.rounds, totals.returned[i], totals.squares[i]));
+        }
+        return stats;
+    }
+
+    private @NotNull Totals simulate(SplittableRandom random, long rounds) {
+        Totals totals = new Totals(rounds, bets.length);
+
+        for (long round = 0L; round < rounds; round++) {
+            int winner = random.nextInt(singles.length);
+
+            for (int i = 0; i < bets.length; i++) {
+                Slot[] slots = bets[i];
+                Slot slot = slots.length == 1 ? slots[0] : slots[random.nextInt(slots.length)];
+
+                double returned = resolve(random, slot, winner);
+                double net = returned - 1.0d;
+
+                totals.returned[i] += returned;
+                totals.squares[i] += net * net;
+            }
+        }
+
+        return totals;
+    }
+
+    private double resolve(SplittableRandom random, @NotNull Slot slot, int winner) {
+        WinData.WinType winType = tables[winner].resolve(slot, false);
+        if (winType != null) return winType.getMoney(1.0d, multipliers[slot.ordinal()]);
+
+        // Same as Game#betAppliesForPrison(), the bet stays for the next spin.
+        if (!rules.contains(GameRule.EN_PRISON) || !slot.applyForRules() || !singles[winner].isZero()) return 0.0d;
+
+        winType = tables[random.nextInt(singles.length)].resolve(slot, true);
+        return winType != null ? winType.getMoney(1.0d, multipliers[slot.ordinal()]) : 0.0d;
+    }
+
+    public @NotNull List<String> format(@NotNull List<BetStats> stats, long rounds) {
+        List<String> lines = new ArrayList<>();
+        lines.add("Type: %s | Rules: %s | Rounds: %,d".formatted(type, rules, rounds));
+        lines.add("%-14s %9s %11s %10s".formatted("Bet", "RTP", "House edge", "Variance"));
+
+        for (BetStats stat : stats) {
+            lines.add("%-14s %8.3f%% %10.3f%% %10.3f".formatted(
+                    stat.name(),
+                    stat.getReturnToPlayer() * 100.0d,
+                    stat.getHouseEdge() * 100.0d,
+                    stat.getVariance()));
+        }
+
+        return lines;
+    }
+
+    /**
+     * Usage: {@code <american/european> [rounds] [rule...] [-SLOT...]}, where the slots starting with "-" are disabled.
+     * <p>
+     * The default multipliers are used, since the custom ones are in the config of the plugin.
+     */
+    public static void main(String @NotNull [] args) {
+        if (args.length == 0) {
+            System.out.println("Usage: <american/european> [rounds] [LA_PARTAGE/EN_PRISON/SURRENDER...] [-SLOT_X...]");
+            return;
+        }
+
+        GameType type = GameType.valueOf(args[0].toUpperCase(Locale.ROOT));
+        long rounds = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_ROUNDS;
+
+        Set<GameRule> rules = EnumSet.noneOf(GameRule.class);
+        Set<Slot> disabled = EnumSet.noneOf(Slot.class);
+        for (int i = 2; i < args.length; i++) {
+            String arg = args[i].toUpperCase(Locale.ROOT);
+            if (arg.startsWith("-")) disabled.add(Slot.valueOf(arg.substring(1)));
+            else rules.add(GameRule.valueOf(arg));
+        }
+
+        RoundSimulator simulator = new RoundSimulator(type, rules, disabled, Collections.emptyMap());
+        simulator.format(simulator.run(rounds, System.nanoTime()), rounds).forEach(System.out::println);
+    }
+
+    private final class SimulationTask extends RecursiveTask<Totals> {
+
+        private final SplittableRandom random;
+        private final long rounds;
+
+        private SimulationTask(SplittableRandom random, long rounds) {
+            this.random = random;
+            this.rounds = rounds;
+        }
+
+        @Override
+        protected Totals compute() {
+            if (rounds <= THRESHOLD) return simulate(random, rounds);
+
+            // Every task has its own generator, split from the parent one.
+            long half = rounds / 2;
+            SimulationTask first = new SimulationTask(random.split(), half);
+            first.fork();
+
+            Totals second = new SimulationTask(random, rounds - half).compute();
+            return second.merge(first.join());
+        }
+    }
+
+    private static final class Totals {
+
+        private long rounds;
+        private final double[] returned;
+        private final double[] squares;
+
+        private Totals(long rounds, int bets) {
+            this.rounds = rounds;
+            this.returned = new double[bets];
+            this.squares = new double[bets];
+        }
+
+        private Totals merge(@NotNull Totals other) {
+            rounds += other.rounds;
+            for (int i = 0; i < returned.length; i++) {
+                returned[i] += other.returned[i];
+                squares[i] += other.squares[i];
+            }
+            return this;
+        }
+    }
+}
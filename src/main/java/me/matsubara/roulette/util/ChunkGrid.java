@@ -0,0 +1,106 @@
+package me.matsubara.roulette.util;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Indexes objects (like games or NPCs) by the chunk they're in, per world.
+ * <p>
+ * Lookups only visit the chunks around a location, so the cost depends on the objects nearby instead of on all of them.
+ */
+public final class ChunkGrid<T> {
+
+    // World UUID -> chunk key -> objects in that chunk.
+    private final Map<UUID, Map<Long, Set<T>>> worlds = new ConcurrentHashMap<>();
+
+    // The cell of every object, to remove it without knowing where it was added.
+    private final Map<T, Cell> cells = new ConcurrentHashMap<>();
+
+    public void add(T object, @NotNull Location location) {
+        World world = location.getWorld();
+        if (world == null) return;
+
+        remove(object);
+
+        Cell cell = new Cell(world.getUID(), key(location.getBlockX() >> 4, location.getBlockZ() >> 4));
+        worlds.computeIfAbsent(cell.world(), uuid -> new ConcurrentHashMap<>())
+                .computeIfAbsent(cell.chunk(), chunk -> ConcurrentHashMap.newKeySet())
+                .add(object);
+        cells.put(object, cell);
+    }
+
+    public void remove(T object) {
+        Cell cell = cells.remove(object);
+        if (cell == null) return;
+
+        Map<Long, Set<T>> chunks = worlds.get(cell.world());
+        if (chunks == null) return;
+
+        chunks.computeIfPresent(cell.chunk(), (chunk, objects) -> {
+            objects.remove(object);
+            return objects.isEmpty() ? null : objects;
+        });
+    }
+
+    /**
+     * @return the objects in the chunks within the given distance (in blocks) of the location.
+     */
+    public @NotNull List<T> getNearby(@NotNull Location location, double distance) {
+        World world = location.getWorld();
+        if (world == null) return Collections.emptyList();
+
+        Map<Long, Set<T>> chunks = worlds.get(world.getUID());
+        if (chunks == null || chunks.isEmpty()) return Collections.emptyList();
+
+        int radius = (int) Math.ceil(distance / 16.0d);
+        int chunkX = location.getBlockX() >> 4;
+        int chunkZ = location.getBlockZ() >> 4;
+
+        List<T> nearby = new ArrayList<>();
+        for (int x = chunkX - radius; x <= chunkX + radius; x++) {
+            for (int z = chunkZ - radius; z <= chunkZ + radius; z++) {
+                Set<T> objects = chunks.get(key(x, z));
+                if (objects != null) nearby.addAll(objects);
+            }
+        }
+
+        return nearby;
+    }
+
+    /**
+     * @return the objects in the given chunk.
+     */
+    public @NotNull Set<T> getInChunk(@NotNull World world, int chunkX, int chunkZ) {
+        Map<Long, Set<T>> chunks = worlds.get(world.getUID());
+        if (chunks == null) return Collections.emptySet();
+
+        Set<T> objects = chunks.get(key(chunkX, chunkZ));
+        return objects != null ? Set.copyOf(objects) : Collections.emptySet();
+    }
+
+    /**
+     * @return the objects near the current location, or near the previous one (so the ones left behind can be handled too).
+     */
+    public @NotNull Set<T> getNearby(@NotNull Location location, @Nullable Location previous, double distance) {
+        Set<T> nearby = new LinkedHashSet<>(getNearby(location, distance));
+        if (previous != null) nearby.addAll(getNearby(previous, distance));
+        return nearby;
+    }
+
+    public void clear() {
+        worlds.clear();
+        cells.clear();
+    }
+
+    private static long key(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private record Cell(UUID world, long chunk) {
+    }
+}
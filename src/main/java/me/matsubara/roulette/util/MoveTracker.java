@@ -0,0 +1,47 @@
+package me.matsubara.roulette.util;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers where every player was the last time they were checked, to skip the checks while they stand still.
+ */
+public final class MoveTracker {
+
+    private final Map<UUID, Location> checked = new ConcurrentHashMap<>();
+    private final double distanceSquared;
+
+    public MoveTracker(double distance) {
+        this.distanceSquared = distance * distance;
+    }
+
+    public @Nullable Location getLast(@NotNull Player player) {
+        return checked.get(player.getUniqueId());
+    }
+
+    public void update(@NotNull Player player, @NotNull Location location) {
+        checked.put(player.getUniqueId(), location);
+    }
+
+    public void remove(@NotNull Player player) {
+        checked.remove(player.getUniqueId());
+    }
+
+    /**
+     * @return whether the player changed of world or chunk, or moved more than the distance of this tracker.
+     */
+    @Contract("null, _ -> true")
+    public boolean hasMoved(@Nullable Location last, @NotNull Location location) {
+        if (last == null || !Objects.equals(last.getWorld(), location.getWorld())) return true;
+        if (last.getBlockX() >> 4 != location.getBlockX() >> 4 || last.getBlockZ() >> 4 != location.getBlockZ() >> 4) return true;
+        return last.distanceSquared(location) > distanceSquared;
+    }
+}
@@ -0,0 +1,71 @@
+package me.matsubara.roulette.util;
+
+import com.github.retrooper.packetevents.PacketEvents;
+import com.github.retrooper.packetevents.netty.buffer.ByteBufHelper;
+import com.github.retrooper.packetevents.netty.channel.ChannelHelper;
+import com.github.retrooper.packetevents.protocol.player.ClientVersion;
+import com.github.retrooper.packetevents.protocol.player.User;
+import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import lombok.experimental.UtilityClass;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends the same packet to many players, encoding it only once.
+ * <p>
+ * The encoded buffer is written to every channel as a retained duplicate, so Netty doesn't encode it again per player.
+ * Players on a different version than the server get their own copy, since protocol translators rewrite the buffer in place.
+ */
+@UtilityClass
+public class PacketBroadcast {
+
+    public @NotNull List<User> getUsers(@NotNull Iterable<? extends Player> players) {
+        List<User> users = new ArrayList<>();
+        for (Player player : players) {
+            User user = PacketEvents.getAPI().getPlayerManager().getUser(player);
+            if (user != null) users.add(user);
+        }
+        return users;
+    }
+
+    public void send(@NotNull Iterable<? extends Player> players, @NotNull PacketWrapper<?> packet) {
+        send(getUsers(players), packet);
+    }
+
+    public void send(@NotNull List<User> users, @NotNull PacketWrapper<?> packet) {
+        if (users.isEmpty()) return;
+
+        // Nothing to share with a single player.
+        if (users.size() == 1) {
+            users.get(0).sendPacket(packet);
+            return;
+        }
+
+        ClientVersion serverVersion = PacketEvents.getAPI().getServerManager().getVersion().toClientVersion();
+        Object encoded = null;
+
+        try {
+            for (User user : users) {
+                Object channel = user.getChannel();
+                if (channel == null || !ChannelHelper.isOpen(channel)) continue;
+
+                if (encoded == null) {
+                    packet.prepareForSend(channel, true);
+                    encoded = packet.buffer;
+                }
+
+                Object buffer = user.getClientVersion() == serverVersion ?
+                        ByteBufHelper.retainedDuplicate(encoded) :
+                        ByteBufHelper.copy(encoded);
+
+                PacketEvents.getAPI().getProtocolManager().sendPacket(channel, buffer);
+            }
+        } finally {
+            // The channels hold their own references, release ours.
+            if (encoded != null) ByteBufHelper.release(encoded);
+        }
+    }
+}
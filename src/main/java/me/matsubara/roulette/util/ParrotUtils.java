@@ -12,6 +12,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class ParrotUtils {
 
@@ -65,8 +66,9 @@ public class ParrotUtils {
         VALID_MOB = ImmutableList.copyOf(MOB_SOUND_MAP.keySet());
     }
 
+    // Called from the NPC task (async), so each thread uses its own random.
     public static XSound getAmbient(@NotNull World world) {
-        Random random = PluginUtils.RANDOM;
+        Random random = ThreadLocalRandom.current();
         if (world.getDifficulty() != Difficulty.PEACEFUL && random.nextInt(100) == 0) {
             EntityType type = VALID_MOB.get(random.nextInt(VALID_MOB.size()));
             return MOB_SOUND_MAP.getOrDefault(type, XSound.ENTITY_PARROT_AMBIENT);
@@ -75,7 +77,7 @@ public class ParrotUtils {
     }
 
     public static float getPitch() {
-        Random random = PluginUtils.RANDOM;
+        Random random = ThreadLocalRandom.current();
         return (random.nextFloat() - random.nextFloat()) * 0.2f + 1.0f;
     }
 
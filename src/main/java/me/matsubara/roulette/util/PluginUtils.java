@@ -32,7 +32,6 @@ import org.jetbrains.annotations.Nullable;
 import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Field;
 import java.net.URL;
-import java.nio.ByteBuffer;
 import java.util.*;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
@@ -43,18 +42,10 @@ public final class PluginUtils {
 
     public static Random RANDOM = new Random();
     public static PersistentDataType<byte[], UUID> UUID_TYPE = new UUIDTagType();
-    public static final Pattern PATTERN = Pattern.compile("&(#[\\da-fA-F]{6})");
+    public static final Pattern PATTERN = TextUtils.HEX_PATTERN;
 
     private static final RoulettePlugin PLUGIN = JavaPlugin.getPlugin(RoulettePlugin.class);
 
-    private static final Slot[][] TABLE_GRID = {
-            {Slot.SLOT_3, Slot.SLOT_6, Slot.SLOT_9, Slot.SLOT_12, Slot.SLOT_15, Slot.SLOT_18, Slot.SLOT_21, Slot.SLOT_24, Slot.SLOT_27, Slot.SLOT_30, Slot.SLOT_33, Slot.SLOT_36, Slot.SLOT_COLUMN_3},
-            {Slot.SLOT_2, Slot.SLOT_5, Slot.SLOT_8, Slot.SLOT_11, Slot.SLOT_14, Slot.SLOT_17, Slot.SLOT_20, Slot.SLOT_23, Slot.SLOT_26, Slot.SLOT_29, Slot.SLOT_32, Slot.SLOT_35, Slot.SLOT_COLUMN_2},
-            {Slot.SLOT_1, Slot.SLOT_4, Slot.SLOT_7, Slot.SLOT_10, Slot.SLOT_13, Slot.SLOT_16, Slot.SLOT_19, Slot.SLOT_22, Slot.SLOT_25, Slot.SLOT_28, Slot.SLOT_31, Slot.SLOT_34, Slot.SLOT_COLUMN_1},
-            {Slot.SLOT_DOZEN_1, Slot.SLOT_DOZEN_2, Slot.SLOT_DOZEN_3},
-            {Slot.SLOT_LOW, Slot.SLOT_EVEN, Slot.SLOT_RED, Slot.SLOT_BLACK, Slot.SLOT_ODD, Slot.SLOT_HIGH}
-    };
-
     public static final BlockFace[] AXIS = {
             BlockFace.NORTH,
             BlockFace.EAST,
@@ -270,16 +261,11 @@ public final class PluginUtils {
     }
 
     public static <T extends Enum<T>> T getOrNull(Class<T> clazz, String name) {
-        if (name == null) return null;
-        return getOrDefault(clazz, name, null);
+        return TextUtils.getOrNull(clazz, name);
     }
 
     public static <T extends Enum<T>> T getOrDefault(Class<T> clazz, @NotNull String name, T defaultValue) {
-        try {
-            return Enum.valueOf(clazz, name.toUpperCase(Locale.ROOT));
-        } catch (IllegalArgumentException exception) {
-            return defaultValue;
-        }
+        return TextUtils.getOrDefault(clazz, name, defaultValue);
     }
 
     public static int getRangedAmount(@NotNull String string) {
@@ -346,34 +332,6 @@ public final class PluginUtils {
         return converter.apply(object);
     }
 
-    public static byte @NotNull [] toBytes(@NotNull UUID uuid) {
-        ByteBuffer buffer = ByteBuffer.wrap(new byte[16]);
-        buffer.putLong(uuid.getMostSignificantBits());
-        buffer.putLong(uuid.getLeastSignificantBits());
-        return buffer.array();
-    }
-
-    public static @NotNull UUID toUUID(byte[] bytes) {
-        ByteBuffer buffer = ByteBuffer.wrap(bytes);
-        long firstLong = buffer.getLong();
-        long secondLong = buffer.getLong();
-        return new UUID(firstLong, secondLong);
-    }
-
-    private static Slot[][] initTableGrid(Game game) {
-        Slot[][] clone = TABLE_GRID.clone();
-        if (game.getType().isEuropean()) {
-            // Single 0.
-            clone[1] = ArrayUtils.insert(0, clone[1], Slot.SLOT_0);
-            return clone;
-        }
-
-        // Double 0.
-        clone[0] = ArrayUtils.insert(0, clone[0], Slot.SLOT_00);
-        clone[2] = ArrayUtils.insert(0, clone[2], Slot.SLOT_0);
-        return clone;
-    }
-
     @Getter
     public static class SlotHolder {
         private final Slot slot;
@@ -403,144 +361,8 @@ public final class PluginUtils {
         }
     }
 
-    public static @Nullable SlotHolder moveFromSlot(Game game, Slot current, boolean up, boolean down, boolean left, boolean right) {
-        // The player didn't move his bet.
-        if (!up && !down && !left && !right) return SlotHolder.of(current);
-
-        int row = -1, column = -1;
-
-        Slot[][] grid = initTableGrid(game);
-
-        // Find the current row and column.
-        for (int i = 0; i < grid.length; i++) {
-            int index = ArrayUtils.indexOf(grid[i], current);
-            if (index == -1) continue;
-
-            row = i;
-            column = index;
-        }
-
-        if (row == -1) return SlotHolder.of(current);
-
-        boolean european = game.getType().isEuropean(),
-                zero = current.isZero(),
-                doubleZero = current.isDoubleZero();
-
-        // Handle up.
-        if (up) {
-            // Column 3.
-            if (row == 0) return null;
-
-            // Column 1 & 2.
-            if (row < 3) {
-                // We are at 0 (0x1), can't go up.
-                if (european && zero) return null;
-
-                if (!european) {
-                    // We are at 0 (2x0), go to 00 (0x0).
-                    if (zero) return SlotHolder.of(Slot.SLOT_00);
-
-                    // We are at 00 (0x0), can't go up.
-                    if (doubleZero) return null;
-                }
-
-                // If the current row has a zero, we want to reduce a column, otherwise increase one.
-                if (grid[row].length != 13 && column > 0) column--;
-                else column++;
-
-                // Go up.
-                return SlotHolder.of(grid[row - 1][column]);
-            }
-
-            // Dozens, go to the first slot of the dozen (not zeros).
-            if (row == 3) {
-                Slot[] slots = grid[row - 1];
-                int extra = slots.length != 13 ? 1 : 0;
-                return SlotHolder.of(slots[(column * 4) + extra]);
-            }
-
-            // Even-money slots, go to the top dozen.
-            return SlotHolder.of(grid[row - 1][column / 2]);
-        }
-
-        // Handle down.
-        if (down) {
-            // Even-money slot, we can't go down.
-            if (row == 4) return null;
-
-            // Dozens, go to the first element of the pair below.
-            if (row == 3) {
-                Slot[] slots = grid[row + 1];
-                int goToColumn = column * 2;
-                return SlotHolder.of(slots[goToColumn], slots[goToColumn + 1]);
-            }
-
-            // Column 1.
-            if (row == 2) {
-                // Can't go below 0.
-                if (zero) return null;
-
-                // Can't go below column slot.
-                if (column == grid[row].length - 1) return null;
-
-                // Go to a dozen.
-                if (grid[row].length != 13) column--;
-                return SlotHolder.of(grid[row + 1][column / 4]);
-            }
-
-            // We are at 0 (0x1), can't go down.
-            if (european && zero) return null;
-
-            if (!european) {
-                // We are at 0 (2x0), can't go down.
-                if (zero) return null;
-                // We are at 00 (0x0), go to 0 (2x0).
-                if (doubleZero) return SlotHolder.of(Slot.SLOT_0);
-            }
-
-            // If the current row has a zero, we want to reduce a column, otherwise increase one.
-            if (grid[row].length != 13 && column > 0) column--;
-            else column++;
-
-            // Go down.
-            return SlotHolder.of(grid[row + 1][column]);
-        }
-
-        return SlotHolder.of(handleSideways(european, current, grid, row, column, left, right));
-    }
-
-    private static @Nullable Slot handleSideways(
-            boolean european,
-            @NotNull Slot current,
-            Slot[][] grid,
-            int row,
-            int column,
-            boolean left,
-            boolean right) {
-        boolean zero = current.isZero(), anyZero = current.isAnyZero();
-        int length = grid[row].length;
-
-        // No more slots at the left of zeros.
-        if (anyZero && left) {
-            return null;
-        }
-
-        // If single zero and current is 1 or 3, go to 0.
-        if (row < 3 && left && european && !zero && column == 0) {
-            return grid[1][0];
-        }
-
-        // If double zero and current is 2, go to 0.
-        if (row < 3 && left && !european && column == 0) {
-            return grid[2][0];
-        }
-
-        // No more slots at the left or right.
-        if ((right && column == length - 1) || left && column == 0) return null;
-
-        // Move to the side.
-        int goToColumn = column + (right ? 1 : -1);
-        return grid[row][goToColumn];
+    public static @Nullable SlotHolder moveFromSlot(@NotNull Game game, Slot current, boolean up, boolean down, boolean left, boolean right) {
+        return game.getSlotTopology().move(current, up, down, left, right);
     }
 
     public static int[] randomUUIDArray() {
@@ -572,12 +394,12 @@ public final class PluginUtils {
 
         @Override
         public byte @NotNull [] toPrimitive(@NotNull UUID complex, @NotNull PersistentDataAdapterContext context) {
-            return PluginUtils.toBytes(complex);
+            return UUIDUtils.toBytes(complex);
         }
 
         @Override
         public @NotNull UUID fromPrimitive(byte @NotNull [] primitive, @NotNull PersistentDataAdapterContext context) {
-            return PluginUtils.toUUID(primitive);
+            return UUIDUtils.toUUID(primitive);
         }
     }
 }
\ No newline at end of file
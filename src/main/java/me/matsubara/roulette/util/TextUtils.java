@@ -0,0 +1,33 @@
+package me.matsubara.roulette.util;
+
+import lombok.experimental.UtilityClass;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Reads enum constants and hex colors from texts (the config, the database, the maps...).
+ * <p>
+ * Kept apart from {@link PluginUtils} like {@link UUIDUtils}, so it can be used without the plugin being loaded.
+ */
+@UtilityClass
+public class TextUtils {
+
+    public final Pattern HEX_PATTERN = Pattern.compile("&(#[\\da-fA-F]{6})");
+
+    public <T extends Enum<T>> @Nullable T getOrNull(Class<T> clazz, @Nullable String name) {
+        return getOrDefault(clazz, name, null);
+    }
+
+    @Contract("_, _, !null -> !null")
+    public <T extends Enum<T>> T getOrDefault(Class<T> clazz, @Nullable String name, T defaultValue) {
+        if (name == null) return defaultValue;
+        try {
+            return Enum.valueOf(clazz, name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException exception) {
+            return defaultValue;
+        }
+    }
+}
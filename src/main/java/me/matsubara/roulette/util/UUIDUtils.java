@@ -0,0 +1,30 @@
+package me.matsubara.roulette.util;
+
+import lombok.experimental.UtilityClass;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * Converts UUIDs to bytes (and back), for the database and the persistent data.
+ * <p>
+ * Kept apart from {@link PluginUtils}, so the database code doesn't need the plugin to be loaded.
+ */
+@UtilityClass
+public class UUIDUtils {
+
+    public byte @NotNull [] toBytes(@NotNull UUID uuid) {
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[16]);
+        buffer.putLong(uuid.getMostSignificantBits());
+        buffer.putLong(uuid.getLeastSignificantBits());
+        return buffer.array();
+    }
+
+    public @NotNull UUID toUUID(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long firstLong = buffer.getLong();
+        long secondLong = buffer.getLong();
+        return new UUID(firstLong, secondLong);
+    }
+}
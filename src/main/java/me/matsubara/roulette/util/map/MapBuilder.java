@@ -1,11 +1,10 @@
 package me.matsubara.roulette.util.map;
 
-import com.cryptomorin.xseries.reflection.XReflection;
 import lombok.Getter;
 import lombok.Setter;
 import me.matsubara.roulette.RoulettePlugin;
 import me.matsubara.roulette.manager.data.RouletteSession;
-import me.matsubara.roulette.util.PluginUtils;
+import me.matsubara.roulette.util.TextUtils;
 import net.md_5.bungee.api.ChatColor;
 import org.apache.commons.lang3.tuple.Pair;
 import org.bukkit.Bukkit;
@@ -43,6 +42,9 @@ public final class MapBuilder extends MapRenderer {
 
     private static final Pattern ACCENT_PATTERN = Pattern.compile("\\p{M}");
 
+    // Checked once, instead of for every pixel.
+    private static final boolean PIXEL_COLORS = supportsPixelColors();
+
     public MapBuilder(RoulettePlugin plugin, UUID playerUUID, RouletteSession session) {
         this.plugin = plugin;
         this.playerUUID = playerUUID;
@@ -91,7 +93,7 @@ public final class MapBuilder extends MapRenderer {
     public void drawText(MapCanvas canvas, int x, int y, @NotNull String text) {
         Map<Pair<Integer, Integer>, Color> colorMap = new LinkedHashMap<>();
 
-        Matcher matcher = PluginUtils.PATTERN.matcher(text);
+        Matcher matcher = TextUtils.HEX_PATTERN.matcher(text);
         StringBuilder buffer = new StringBuilder();
         while (matcher.find()) {
             int start = matcher.start(), end = matcher.end();
@@ -126,7 +128,7 @@ public final class MapBuilder extends MapRenderer {
                     int targetX = x + w;
                     int targetY = y + h;
 
-                    if (XReflection.supports(19)) {
+                    if (PIXEL_COLORS) {
                         canvas.setPixelColor(targetX, targetY, color);
                     } else {
                         canvas.setPixel(targetX, targetY, byteColor);
@@ -138,6 +140,16 @@ public final class MapBuilder extends MapRenderer {
         }
     }
 
+    private static boolean supportsPixelColors() {
+        // MapCanvas#setPixelColor() was added in 1.19.
+        try {
+            MapCanvas.class.getMethod("setPixelColor", int.class, int.class, Color.class);
+            return true;
+        } catch (NoSuchMethodException exception) {
+            return false;
+        }
+    }
+
     private @Nullable Map.Entry<Pair<Integer, Integer>, Color> getColor(@NotNull Map<Pair<Integer, Integer>, Color> colorMap, int index) {
         Map.Entry<Pair<Integer, Integer>, Color> color = null;
         for (Map.Entry<Pair<Integer, Integer>, Color> entry : colorMap.entrySet()) {
@@ -0,0 +1,181 @@
+package me.matsubara.roulette.manager.data.store;
+
+import com.zaxxer.hikari.HikariConfig;
+import me.matsubara.roulette.game.GameType;
+import me.matsubara.roulette.game.data.RoundSeed;
+import me.matsubara.roulette.game.data.Slot;
+import me.matsubara.roulette.game.data.SlotTopology;
+import me.matsubara.roulette.game.data.WinData;
+import me.matsubara.roulette.manager.data.MapRecord;
+import me.matsubara.roulette.manager.data.PlayerResult;
+import me.matsubara.roulette.manager.data.RouletteSession;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the MySQL store against an in-memory H2 database in MySQL mode.
+ */
+class MySQLSessionStoreTest {
+
+    private MySQLSessionStore store;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("roulette-test-pool");
+        // A new database for every test, kept until the pool is closed.
+        config.setJdbcUrl("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        config.setMaximumPoolSize(1);
+
+        store = new MySQLSessionStore(Logger.getLogger("Roulette"), config);
+        store.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    void initIsRepeatable() throws SQLException {
+        // The migrations are already applied, so they must be skipped.
+        store.init();
+        assertEquals(0, store.countSessions());
+    }
+
+    @Test
+    void savesAndLoadsSessions() throws SQLException {
+        RouletteSession session = session("table", Slot.SLOT_17, 1000L, "ab".repeat(32));
+        addResult(session, WinData.WinType.NORMAL, 10.5d, Slot.SLOT_17);
+        addResult(session, null, 20.0d, Slot.SLOT_RED);
+        store.saveSession(session);
+
+        // Replaying the journal saves the same session again, it must be ignored.
+        store.saveSession(session);
+        assertEquals(1, store.countSessions());
+
+        RouletteSession loaded = store.loadSession(session.sessionUUID());
+        assertNotNull(loaded);
+        assertEquals("table", loaded.name());
+        assertEquals(Slot.SLOT_17, loaded.slot());
+        assertEquals(GameType.EUROPEAN, loaded.type());
+        assertEquals(1000L, loaded.timestamp());
+        assertEquals(session.seed(), loaded.seed());
+        assertEquals(2, loaded.results().size());
+
+        PlayerResult win = loaded.results().stream().filter(PlayerResult::won).findFirst().orElseThrow();
+        assertEquals(WinData.WinType.NORMAL, win.win());
+        assertEquals(10.5d, win.money());
+        assertEquals(Slot.SLOT_17, win.slot());
+    }
+
+    @Test
+    void loadsPagesFromNewToOld() throws SQLException {
+        for (int i = 0; i < 5; i++) {
+            store.saveSession(session("table-" + i, Slot.SLOT_0, i, null));
+        }
+
+        List<RouletteSession> all = new ArrayList<>();
+        store.loadSessions(-1, all::add);
+        assertEquals(List.of("table-4", "table-3", "table-2", "table-1", "table-0"), all.stream().map(RouletteSession::name).toList());
+
+        // Same page, by offset and after the previous session.
+        List<RouletteSession> byOffset = store.loadSessions(null, 2, 2);
+        List<RouletteSession> byKey = store.loadSessions(all.get(1), 0, 2);
+        assertEquals(List.of("table-2", "table-1"), byOffset.stream().map(RouletteSession::name).toList());
+        assertEquals(byOffset.stream().map(RouletteSession::sessionUUID).toList(), byKey.stream().map(RouletteSession::sessionUUID).toList());
+    }
+
+    @Test
+    void trimsOldSessions() throws SQLException {
+        for (int i = 0; i < 4; i++) {
+            RouletteSession session = session("table-" + i, Slot.SLOT_0, i, null);
+            addResult(session, i % 2 == 0 ? WinData.WinType.NORMAL : null, 1.0d, Slot.SLOT_0);
+            store.saveSession(session);
+        }
+
+        // The 2 oldest sessions are removed, along with 1 win.
+        List<UUID> removed = new ArrayList<>();
+        store.trimSessions(2, false, (playerUUID, win, money, slot, type) -> removed.add(playerUUID));
+        assertEquals(2, store.countSessions());
+        assertEquals(1, removed.size());
+
+        List<UUID> wins = new ArrayList<>();
+        store.loadWins((playerUUID, win, money, slot, type) -> wins.add(playerUUID));
+        assertEquals(1, wins.size());
+    }
+
+    @Test
+    void deletesResultsAndCascades() throws SQLException {
+        RouletteSession session = session("table", Slot.SLOT_0, 0L, null);
+        PlayerResult result = addResult(session, WinData.WinType.NORMAL, 1.0d, Slot.SLOT_0);
+        addResult(session, null, 1.0d, Slot.SLOT_RED);
+        store.saveSession(session);
+        store.saveMaps(List.of(new MapRecord(7, result.playerUUID(), session.sessionUUID())));
+
+        store.deleteResult(result.playerUUID(), session.sessionUUID(), Slot.SLOT_0);
+        RouletteSession loaded = store.loadSession(session.sessionUUID());
+        assertNotNull(loaded);
+        assertEquals(1, loaded.results().size());
+
+        // The results and the maps of the session are removed with it.
+        store.deleteSession(session.sessionUUID());
+        List<MapRecord> maps = new ArrayList<>();
+        store.loadMaps(maps::add);
+        assertNull(store.loadSession(session.sessionUUID()));
+        assertTrue(maps.isEmpty());
+    }
+
+    @Test
+    void ignoresMapsOfMissingSessions() throws SQLException {
+        RouletteSession session = session("table", Slot.SLOT_0, 0L, null);
+        store.saveSession(session);
+
+        UUID playerUUID = UUID.randomUUID();
+        store.saveMaps(List.of(
+                new MapRecord(1, playerUUID, session.sessionUUID()),
+                new MapRecord(1, playerUUID, session.sessionUUID()),
+                new MapRecord(2, playerUUID, UUID.randomUUID())));
+
+        List<MapRecord> maps = new ArrayList<>();
+        store.loadMaps(maps::add);
+        assertEquals(List.of(new MapRecord(1, playerUUID, session.sessionUUID())), maps);
+    }
+
+    @Test
+    void findsSessionsBySeed() throws SQLException {
+        RoundSeed seed = RoundSeed.generate();
+        List<Slot> disabled = List.of(Slot.SLOT_0, Slot.SLOT_5);
+        Slot winner = seed.pickWinner(new SlotTopology(GameType.EUROPEAN, disabled).getSingles());
+
+        store.saveSession(session("other", Slot.SLOT_0, 0L, null));
+        store.saveSession(new RouletteSession(UUID.randomUUID(), "table", winner, GameType.EUROPEAN, 1L, seed.toHex(), disabled));
+
+        RouletteSession loaded = store.loadSessionBySeed(seed.toHex());
+        assertNotNull(loaded);
+        assertEquals(disabled, loaded.disabled());
+        assertEquals(winner, loaded.getSeedWinner());
+        assertNull(store.loadSessionBySeed(RoundSeed.generate().toHex()));
+    }
+
+    private static @NotNull RouletteSession session(String name, Slot slot, long timestamp, @Nullable String seed) {
+        return new RouletteSession(UUID.randomUUID(), name, slot, GameType.EUROPEAN, timestamp, seed, List.of());
+    }
+
+    private static @NotNull PlayerResult addResult(@NotNull RouletteSession session, @Nullable WinData.WinType win, double money, Slot slot) {
+        PlayerResult result = new PlayerResult(session, UUID.randomUUID(), win, money, slot);
+        session.results().add(result);
+        return result;
+    }
+}
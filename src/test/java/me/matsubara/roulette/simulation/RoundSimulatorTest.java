@@ -0,0 +1,63 @@
+package me.matsubara.roulette.simulation;
+
+import me.matsubara.roulette.game.GameRule;
+import me.matsubara.roulette.game.GameType;
+import me.matsubara.roulette.game.data.Slot;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the simulated return to player against the known values of each table, with the default multipliers.
+ */
+class RoundSimulatorTest {
+
+    // A fixed seed, so the results are always the same.
+    private static final long SEED = 42L;
+    private static final long ROUNDS = 5_000_000L;
+
+    // Around 4 standard deviations of the simulated RTP (the net result of a bet deviates ~5.8 for a single number, ~1.0 for an even-money bet).
+    private static final double SINGLE_TOLERANCE = 0.011d;
+    private static final double EVEN_MONEY_TOLERANCE = 0.002d;
+
+    @Test
+    void europeanSingleNumber() {
+        // 36 / 37 = 97.30%.
+        assertEquals(36.0d / 37.0d, rtp(GameType.EUROPEAN, Set.of(), "SINGLE"), SINGLE_TOLERANCE);
+    }
+
+    @Test
+    void americanSingleNumber() {
+        // 36 / 38 = 94.74%.
+        assertEquals(36.0d / 38.0d, rtp(GameType.AMERICAN, Set.of(), "SINGLE"), SINGLE_TOLERANCE);
+    }
+
+    @Test
+    void europeanEvenMoney() {
+        // 36 / 37 = 97.30%.
+        assertEquals(36.0d / 37.0d, rtp(GameType.EUROPEAN, Set.of(), Slot.SLOT_RED.name()), EVEN_MONEY_TOLERANCE);
+    }
+
+    @Test
+    void laPartageEvenMoney() {
+        // Half of the bet is returned on zero, 36 / 37 + 0.5 / 37 = 98.65%.
+        assertEquals(36.5d / 37.0d, rtp(GameType.EUROPEAN, Set.of(GameRule.LA_PARTAGE), Slot.SLOT_RED.name()), EVEN_MONEY_TOLERANCE);
+    }
+
+    private double rtp(GameType type, Set<GameRule> rules, String bet) {
+        RoundSimulator simulator = new RoundSimulator(type, rules, Collections.emptyList(), Collections.emptyMap());
+        return find(simulator.run(ROUNDS, SEED), bet).getReturnToPlayer();
+    }
+
+    private @NotNull BetStats find(@NotNull List<BetStats> stats, String name) {
+        return stats.stream()
+                .filter(stat -> stat.name().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+}